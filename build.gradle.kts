@@ -2,6 +2,7 @@ plugins {
 	java
 	id("org.springframework.boot") version "3.2.2"
 	id("io.spring.dependency-management") version "1.1.4"
+	id("me.champeau.jmh") version "0.7.2"
 }
 
 group = "com.testing.base"
@@ -24,6 +25,10 @@ repositories {
 dependencies {
 	implementation("org.springframework.boot:spring-boot-starter-data-jpa")
 	implementation("org.springframework.boot:spring-boot-starter-web")
+	implementation("org.springframework.boot:spring-boot-starter-actuator")
+	implementation("com.fasterxml.jackson.dataformat:jackson-dataformat-cbor")
+	implementation("com.fasterxml.jackson.dataformat:jackson-dataformat-smile")
+	implementation("com.github.ben-manes.caffeine:caffeine")
 	compileOnly("org.projectlombok:lombok")
 	developmentOnly("org.springframework.boot:spring-boot-devtools")
 	//runtimeOnly("com.h2database:h2")
@@ -42,3 +47,31 @@ dependencies {
 tasks.withType<Test> {
 	useJUnitPlatform()
 }
+
+//Microbenchmarks live in src/jmh/java, run with gradle jmh
+jmh {
+	fork.set(1)
+	profilers.add("gc") //reports allocation rate and bytes per operation next to the throughput
+}
+
+tasks.test {
+	useJUnitPlatform {
+		excludeTags("benchmark")
+	}
+}
+
+//Long running benchmarks against a MySQL testcontainer, e.g. gradle benchmark -Dbenchmark.rows=5000000
+tasks.register<Test>("benchmark") {
+	description = "Runs the tests tagged with benchmark"
+	group = "verification"
+	testClassesDirs = sourceSets.test.get().output.classesDirs
+	classpath = sourceSets.test.get().runtimeClasspath
+	useJUnitPlatform {
+		includeTags("benchmark")
+	}
+	systemProperty("benchmark.rows", System.getProperty("benchmark.rows", "1000000"))
+	maxHeapSize = "1g"
+	testLogging {
+		showStandardStreams = true
+	}
+}
@@ -2,7 +2,7 @@ plugins {
     id("java")
     id("org.springframework.boot") version "3.2.2"
     id("io.spring.dependency-management") version "1.1.4"
-
+    id("me.champeau.jmh") version "0.7.2"
 }
 
 group = "com.testing.base"
@@ -27,12 +27,38 @@ dependencies {
     testImplementation("org.junit.jupiter:junit-jupiter")
     implementation("org.springframework.boot:spring-boot-starter-data-mongodb-reactive")
     implementation("org.springframework.boot:spring-boot-starter-webflux")
+    implementation("org.springframework.boot:spring-boot-starter-actuator")
+    implementation("io.projectreactor:reactor-core-micrometer")
+    implementation("io.projectreactor.tools:blockhound:1.0.8.RELEASE")
+    runtimeOnly("io.micrometer:micrometer-registry-prometheus")
+    implementation("com.github.ben-manes.caffeine:caffeine")
+    implementation("com.fasterxml.jackson.dataformat:jackson-dataformat-cbor")
+    implementation("com.fasterxml.jackson.dataformat:jackson-dataformat-smile")
     compileOnly("org.projectlombok:lombok")
     annotationProcessor("org.projectlombok:lombok")
     testImplementation("org.springframework.boot:spring-boot-starter-test")
     testImplementation("io.projectreactor:reactor-test")
+    testImplementation("io.projectreactor.tools:blockhound-junit-platform:1.0.8.RELEASE") //installs BlockHound for every test
+    testImplementation("de.flapdoodle.embed:de.flapdoodle.embed.mongo.spring3x:4.11.0")
+    jmhImplementation("org.springframework:spring-test") //WebTestClient for DispatchBenchmark
 }
 
 tasks.test {
     useJUnitPlatform()
+    jvmArgs("-XX:+AllowRedefinitionToAddDeleteMethods") //BlockHound instruments JDK classes, needed since Java 13
+}
+
+//gradle bootRun -Pblockhound starts the app with the blockhound profile and the JVM flag BlockHound needs,
+//a plain bootRun keeps the JVM defaults
+tasks.bootRun {
+    if (project.hasProperty("blockhound")) {
+        jvmArgs("-XX:+AllowRedefinitionToAddDeleteMethods")
+        systemProperty("spring.profiles.active", "blockhound")
+    }
+}
+
+//Microbenchmarks live in src/jmh/java, run with gradle jmh
+jmh {
+    fork.set(1)
+    profilers.add("gc") //reports allocation rate and bytes per operation next to the throughput
 }
\ No newline at end of file
@@ -0,0 +1,147 @@
+package com.testing.base.benchmark;
+
+import com.testing.base.controller.EmployeeController;
+import com.testing.base.dto.EmployeeBulkResultDto;
+import com.testing.base.dto.EmployeeDto;
+import com.testing.base.router.EmployeeRouter;
+import com.testing.base.service.EmployeeService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.reactive.server.WebTestClient;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+//Request dispatch of the annotated EmployeeController against the functional EmployeeRouter, over the same in-memory
+//service so only routing, argument resolution and response encoding differ. Requests go through WebTestClient bound
+//to the handler without a server, so Netty and Mongo are left out and the client's own overhead is the same for both.
+//Run with: gradle jmh, the gc profiler reports gc.alloc.rate.norm, the bytes allocated per request.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class DispatchBenchmark {
+    @Param({"annotated", "functional"})
+    private String model;
+
+    private WebTestClient webTestClient;
+
+    @Setup
+    public void setup() {
+        EmployeeService employeeService = new InMemoryEmployeeService();
+        if (model.equals("functional")) {
+            EmployeeRouter employeeRouter = new EmployeeRouter();
+            webTestClient = WebTestClient.bindToRouterFunction(employeeRouter.employeeRoutes(employeeRouter.employeeHandler(employeeService, null))).build();
+        } else {
+            webTestClient = WebTestClient.bindToController(new EmployeeController(employeeService, null)).build();
+        }
+    }
+
+    @Benchmark
+    public byte[] getEmployeeById() {
+        return webTestClient.get().uri("/api/employees/65a000000000000000000001")
+                .accept(MediaType.APPLICATION_JSON)
+                .exchange()
+                .expectBody()
+                .returnResult()
+                .getResponseBody();
+    }
+
+    @Benchmark
+    public byte[] getEmployeesPage() {
+        return webTestClient.get().uri("/api/employees?limit=20")
+                .accept(MediaType.APPLICATION_JSON)
+                .exchange()
+                .expectBody()
+                .returnResult()
+                .getResponseBody();
+    }
+
+    @Benchmark
+    public byte[] saveEmployee() {
+        return webTestClient.post().uri("/api/employees")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(new EmployeeDto(null, "Spring", "Boot", "Spring.Boot@gmail.com"))
+                .exchange()
+                .expectBody()
+                .returnResult()
+                .getResponseBody();
+    }
+
+    private static class InMemoryEmployeeService implements EmployeeService {
+        private final EmployeeDto employee = new EmployeeDto("65a000000000000000000001", "Spring", "Boot", "Spring.Boot@gmail.com");
+        private final List<EmployeeDto> employees = new ArrayList<>();
+
+        InMemoryEmployeeService() {
+            for (int i = 0; i < 20; i++) {
+                employees.add(new EmployeeDto(String.format("65a0000000000000000000%02x", i), "First" + i, "Last" + i, "employee" + i + "@gmail.com"));
+            }
+        }
+
+        @Override
+        public Mono<EmployeeDto> saveEmployee(EmployeeDto employeeDto) {
+            return Mono.just(employee);
+        }
+
+        @Override
+        public Mono<EmployeeDto> getEmployeeById(String employeeId) {
+            return Mono.just(employee);
+        }
+
+        @Override
+        public Mono<EmployeeDto> getEmployeeById(String employeeId, Set<String> fields) {
+            return Mono.just(employee);
+        }
+
+        @Override
+        public Flux<EmployeeDto> getAllEmployees() {
+            return Flux.fromIterable(employees);
+        }
+
+        @Override
+        public Flux<EmployeeDto> getEmployeesPage(String afterId, int limit) {
+            return Flux.fromIterable(employees).take(limit);
+        }
+
+        @Override
+        public Flux<EmployeeDto> getEmployeesWithFields(Set<String> fields, String afterId, Integer limit) {
+            return Flux.fromIterable(employees);
+        }
+
+        @Override
+        public Flux<EmployeeDto> streamAllEmployees(String afterId) {
+            return Flux.fromIterable(employees);
+        }
+
+        @Override
+        public Mono<EmployeeDto> updateEmployee(String employeeId, EmployeeDto updatedEmployee) {
+            return Mono.just(employee);
+        }
+
+        @Override
+        public Mono<Void> deleteEmployeeById(String employeeId) {
+            return Mono.empty();
+        }
+
+        @Override
+        public Flux<EmployeeBulkResultDto> bulkUpsertEmployees(Flux<EmployeeDto> employeeDtos) {
+            return Flux.empty();
+        }
+    }
+}
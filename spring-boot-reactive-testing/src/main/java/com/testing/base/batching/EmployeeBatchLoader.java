@@ -0,0 +1,97 @@
+package com.testing.base.batching;
+
+import com.testing.base.dto.EmployeeDto;
+import com.testing.base.repository.EmployeeRepository;
+import com.testing.base.resilience.MongoCallPolicy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.FluxSink;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+//Turns point lookups of different ids made around the same time into one $in query.
+//Lookups go into a FluxSink, are cut into batches by size or delay, and each batch's result is routed back to the
+//subscriber waiting for each id. Ids missing from the result complete empty, a failed query fails the whole batch.
+//Each query gets the getEmployeeById timeout, so a stalled Mongo frees the batch slot and fails the batch's lookups
+//instead of holding the slot until the connection gives up, and the lookups waiting behind the slots are bounded.
+@Slf4j
+public class EmployeeBatchLoader {
+    private final EmployeeRepository employeeRepository;
+    private final EmployeeBatchLoaderProperties properties;
+    private final MongoCallPolicy mongoCallPolicy;
+    private final AtomicInteger pendingLookups = new AtomicInteger();
+    private final Disposable batching;
+    //Lookups arrive from many event loop threads. The sink of Flux.create is serialized: a thread that finds another one
+    //emitting queues its lookup (lock-free MPSC queue) for that thread to drain and returns, nobody spins or waits
+    private FluxSink<Lookup> lookups;
+
+    public EmployeeBatchLoader(EmployeeRepository employeeRepository, EmployeeBatchLoaderProperties properties, MongoCallPolicy mongoCallPolicy) {
+        this.employeeRepository = employeeRepository;
+        this.properties = properties;
+        this.mongoCallPolicy = mongoCallPolicy;
+        //subscribing runs the create callback right away, so lookups is set before the constructor returns
+        this.batching = !properties.isEnabled() ? null : Flux.<Lookup>create(sink -> lookups = sink, FluxSink.OverflowStrategy.BUFFER)
+                //fair backpressure, a full batch waits for a free slot instead of failing when all slots are busy
+                .bufferTimeout(properties.getMaxSize(), properties.getMaxDelay(), true)
+                .flatMap(this::load, properties.getMaxConcurrentBatches())
+                .subscribe();
+    }
+
+    public Mono<EmployeeDto> load(String employeeId) {
+        if (batching == null || batching.isDisposed()) {
+            return employeeRepository.findByIdAsDto(employeeId);
+        }
+        return Mono.defer(() -> {
+            if (pendingLookups.incrementAndGet() > properties.getMaxPendingLookups()) {
+                pendingLookups.decrementAndGet();
+                return Mono.error(new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE, "Too many employee lookups waiting for a batch"));
+            }
+            Sinks.One<EmployeeDto> result = Sinks.one();
+            lookups.next(new Lookup(employeeId, result));
+            return result.asMono();
+        });
+    }
+
+    public void shutdown() {
+        if (batching != null) {
+            batching.dispose();
+        }
+    }
+
+    private Mono<Void> load(List<Lookup> batch) {
+        Set<String> employeeIds = batch.stream()
+                .map(Lookup::employeeId)
+                .collect(Collectors.toSet());
+        pendingLookups.addAndGet(-batch.size());
+        //no retry here, the callers retry through their own read policy
+        return mongoCallPolicy.sharedAttempt("getEmployeeById", employeeRepository.findAllByIdAsDto(employeeIds).collectMap(EmployeeDto::getId))
+                .doOnNext(employeeDtos -> route(batch, employeeDtos))
+                .doOnError(error -> batch.forEach(lookup -> lookup.result().tryEmitError(error)))
+                //the error went to the waiting subscribers, the batching pipeline has to keep running
+                .onErrorResume(error -> Mono.empty())
+                .then();
+    }
+
+    private static void route(List<Lookup> batch, Map<String, EmployeeDto> employeeDtos) {
+        for (Lookup lookup : batch) {
+            EmployeeDto employeeDto = employeeDtos.get(lookup.employeeId());
+            if (employeeDto == null) {
+                lookup.result().tryEmitEmpty();
+            } else {
+                lookup.result().tryEmitValue(employeeDto);
+            }
+        }
+    }
+
+    private record Lookup(String employeeId, Sinks.One<EmployeeDto> result) {
+    }
+}
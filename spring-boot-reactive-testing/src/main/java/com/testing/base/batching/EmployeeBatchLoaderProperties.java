@@ -0,0 +1,24 @@
+package com.testing.base.batching;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "employees.batching")
+public class EmployeeBatchLoaderProperties {
+    //When disabled every lookup is its own findById
+    private boolean enabled = true;
+    //A batch is sent as soon as it holds maxSize lookups or maxDelay after its first one, whichever comes first.
+    //A longer delay and larger size mean fewer, bigger $in queries at the price of up to maxDelay added latency per lookup.
+    private int maxSize = 100;
+    private Duration maxDelay = Duration.ofMillis(2);
+    //$in queries in flight at the same time, lookups queue up behind them once this is reached
+    private int maxConcurrentBatches = 8;
+    //Lookups waiting for a batch or a free slot. Beyond it new lookups fail with 503 instead of queueing without bound
+    //behind a stalled Mongo, where they could only wait out their callers' deadlines.
+    private int maxPendingLookups = 10_000;
+}
@@ -0,0 +1,14 @@
+package com.testing.base.blockhound;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "employees.blockhound")
+public class BlockHoundProperties {
+    //false logs every blocking call with its stack trace and lets it through, which keeps a load test running;
+    //true fails the call with BlockingOperationError like in the test suite
+    private boolean failOnBlockingCall = false;
+}
@@ -0,0 +1,23 @@
+package com.testing.base.blockhound;
+
+import reactor.blockhound.BlockHound;
+import reactor.blockhound.integration.BlockHoundIntegration;
+
+//Blocking calls that are known and bounded, allowed on non-blocking threads. Loaded through ServiceLoader
+//(META-INF/services) by every BlockHound.install(), both in the test suite and with the blockhound profile.
+//Reactor's own integration, e.g. for its schedulers, is loaded the same way from reactor-core.
+public class EmployeeBlockHoundIntegration implements BlockHoundIntegration {
+
+    @Override
+    public void applyTo(BlockHound.Builder builder) {
+        //Caffeine runs its maintenance on the caller under a lock when its write buffer is full, held for a few microseconds
+        builder.allowBlockingCallsInside("com.github.benmanes.caffeine.cache.BoundedLocalCache", "performCleanUp");
+        //The async console appender of the blockhound profile (logback-spring.xml) and of the tests (logback-test.xml)
+        //only offers the event to its queue under a short lock.
+        //Synchronous appenders stay detectable: they write to the console or a file on the calling thread.
+        builder.allowBlockingCallsInside("ch.qos.logback.core.AsyncAppenderBase", "put");
+        //The Mongo connection pool guards its connection counts with short lock-protected sections
+        builder.allowBlockingCallsInside("com.mongodb.internal.connection.DefaultConnectionPool$OpenConcurrencyLimiter", "acquirePermitOrGetAvailableOpenedConnection");
+        builder.allowBlockingCallsInside("com.mongodb.internal.connection.DefaultConnectionPool$OpenConcurrencyLimiter", "tryHandOverOrRelease");
+    }
+}
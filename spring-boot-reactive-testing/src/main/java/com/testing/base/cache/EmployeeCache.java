@@ -0,0 +1,66 @@
+package com.testing.base.cache;
+
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.testing.base.dto.EmployeeDto;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import reactor.core.publisher.Mono;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Function;
+
+//Bounded in-process cache of employees by id. It stores futures, so concurrent misses for the same id share one load
+//and nothing ever waits on a lock: a miss subscribes the loader and completes the future from the Mongo driver thread.
+//Loads that complete empty or with an error are not kept. When disabled every get calls the loader.
+public class EmployeeCache implements MeterBinder {
+    private final AsyncCache<String, EmployeeDto> cache;
+
+    public EmployeeCache(EmployeeCacheProperties properties) {
+        this.cache = !properties.isEnabled() ? null : Caffeine.newBuilder()
+                .maximumSize(properties.getMaximumSize())
+                .expireAfterWrite(properties.getExpireAfterWrite())
+                .recordStats()
+                .buildAsync();
+    }
+
+    public Mono<EmployeeDto> get(String employeeId, Function<String, Mono<EmployeeDto>> loader) {
+        if (cache == null) {
+            return loader.apply(employeeId);
+        }
+        //suppressCancel, a subscriber going away must not cancel the load other subscribers are waiting for
+        return Mono.fromFuture(() -> cache.get(employeeId, (id, executor) -> loader.apply(id).toFuture()), true);
+    }
+
+    //Replaces the entry, including a load still in flight that may have read the previous state
+    public void put(EmployeeDto employeeDto) {
+        if (cache == null) {
+            return;
+        }
+        cache.put(employeeDto.getId(), CompletableFuture.completedFuture(employeeDto));
+    }
+
+    public void invalidate(String employeeId) {
+        if (cache == null) {
+            return;
+        }
+        cache.synchronous().invalidate(employeeId);
+    }
+
+    public void invalidateAll() {
+        if (cache == null) {
+            return;
+        }
+        cache.synchronous().invalidateAll();
+    }
+
+    //cache.gets{result=hit|miss}, cache.load.duration, cache.evictions and cache.size tagged cache=employees
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        if (cache == null) {
+            return;
+        }
+        CaffeineCacheMetrics.monitor(registry, cache.synchronous(), "employees");
+    }
+}
@@ -0,0 +1,18 @@
+package com.testing.base.cache;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "employees.cache")
+public class EmployeeCacheProperties {
+    //When disabled every read goes to Mongo, concurrent reads of the same id are still coalesced
+    private boolean enabled = true;
+    private long maximumSize = 10_000;
+    //Upper bound on how stale an entry can get through writes made by other instances
+    private Duration expireAfterWrite = Duration.ofMinutes(5);
+}
@@ -0,0 +1,146 @@
+package com.testing.base.changes;
+
+import com.mongodb.MongoServerException;
+import com.testing.base.dto.EmployeeChangeDto;
+import com.testing.base.entity.EmployeeChange;
+import com.testing.base.mapper.EmployeeMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.bson.types.ObjectId;
+import org.springframework.core.NestedExceptionUtils;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.util.retry.Retry;
+
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Function;
+
+//Pushes the entries of the capped employee_changes collection to subscribers.
+//A single tailable cursor is shared by all subscribers: it is opened by the first one, closed when the last one leaves,
+//and reopened after the last change it delivered when the cursor dies. Every subscriber reads it through its own bounded
+//buffer, a subscriber that falls subscriberBufferSize changes behind gets an overflow error instead of slowing the others
+//down, and reconnects with the id of the last change it received to pick up the rest from the collection.
+//Whenever changes a subscriber should have seen were evicted from the capped collection first, it gets a RESET instead.
+@Slf4j
+public class EmployeeChangeFeed {
+    //Server error of a cursor whose position in a capped collection was overwritten
+    private static final int CAPPED_POSITION_LOST = 136;
+
+    private final ReactiveMongoTemplate reactiveMongoTemplate;
+    private final EmployeeChangeFeedProperties properties;
+    private final AtomicReference<ObjectId> lastDelivered = new AtomicReference<>();
+    //replay(1) hands every new subscriber the change the cursor is positioned on, so it knows that everything after
+    //it will arrive live and everything up to it can be read from the collection
+    private final Flux<EmployeeChange> sharedCursor;
+
+    public EmployeeChangeFeed(ReactiveMongoTemplate reactiveMongoTemplate, EmployeeChangeFeedProperties properties) {
+        this.reactiveMongoTemplate = reactiveMongoTemplate;
+        this.properties = properties;
+        this.sharedCursor = Flux.defer(this::tail)
+                .doOnError(error -> log.warn("Tailable cursor on employee_changes failed, reopening", error))
+                .retryWhen(Retry.backoff(Long.MAX_VALUE, properties.getReconnectDelay())
+                        .maxBackoff(properties.getReconnectDelay().multipliedBy(30)))
+                //a tailable cursor completes when the server kills it, e.g. when it fell behind the capped collection
+                .repeatWhen(completed -> completed.delayElements(properties.getReconnectDelay()))
+                //a reopened cursor starts on the change the previous one delivered last. A RESET of the cursor has no id,
+                //it always passes, and the next reopen still starts from the change delivered before it.
+                .distinctUntilChanged(Function.identity(),
+                        (previous, next) -> next.getId() != null && next.getId().equals(previous.getId()))
+                .doOnNext(employeeChange -> {
+                    if (employeeChange.getId() != null) {
+                        lastDelivered.set(employeeChange.getId());
+                    }
+                })
+                .doOnCancel(() -> lastDelivered.set(null))
+                .replay(1)
+                .refCount();
+    }
+
+    //Changes made after the subscription, or after the change with id lastEventId when it is given.
+    //A RESET change is sent first when lastEventId is no longer in the collection, the client has to reload the employees.
+    public Flux<EmployeeChangeDto> changes(String lastEventId) {
+        return sharedCursor
+                .onBackpressureBuffer(properties.getSubscriberBufferSize())
+                .switchOnFirst((position, changes) -> {
+                    //a RESET of the cursor is news to the subscriber, any other first change only marks where it is positioned
+                    Flux<EmployeeChange> live = position.hasValue() && position.get().getType() == EmployeeChange.Type.RESET
+                            ? changes
+                            : changes.skip(1);
+                    return lastEventId == null ? live : resume(lastEventId, live);
+                })
+                .filter(employeeChange -> employeeChange.getType() != EmployeeChange.Type.OPENED)
+                .map(EmployeeMapper::mapToEmployeeChangeDto);
+    }
+
+    //Replays the collection from the resume token, then continues with the live changes that weren't replayed.
+    //Runs once the shared cursor is positioned, so the two overlap rather than leave a gap.
+    private Flux<EmployeeChange> resume(String lastEventId, Flux<EmployeeChange> live) {
+        if (!ObjectId.isValid(lastEventId)) {
+            return Flux.just(reset()).concatWith(live);
+        }
+        ObjectId resumeToken = new ObjectId(lastEventId);
+        Set<ObjectId> replayed = new HashSet<>();
+        AtomicBoolean tokenFound = new AtomicBoolean();
+        return exists(resumeToken).flatMapMany(found -> {
+            if (!found) {
+                return Flux.just(reset()).concatWith(live);
+            }
+            //No sort, a capped collection is read in insertion order. Writes can still evict the token before the scan
+            //gets to it, or overwrite the changes under the scan, which kills it: both lose changes and end in a RESET.
+            Flux<EmployeeChange> history = reactiveMongoTemplate.find(new Query(), EmployeeChange.class)
+                    .skipUntil(employeeChange -> employeeChange.getId().equals(resumeToken))
+                    .doOnNext(employeeChange -> tokenFound.set(true))
+                    .skip(1)
+                    .doOnNext(employeeChange -> replayed.add(employeeChange.getId()))
+                    .concatWith(Mono.fromSupplier(() -> tokenFound.get() ? null : reset()))
+                    .onErrorResume(EmployeeChangeFeed::isCappedPositionLost, error -> Mono.just(reset()));
+            return history.concatWith(live.filter(employeeChange -> !replayed.contains(employeeChange.getId())));
+        });
+    }
+
+    //Opens the tailable cursor on the change delivered last, or on the newest one when the feed starts.
+    //The cursor reads from the oldest change, so the start is checked once that one is read: a start that is still there
+    //comes later (or the cursor dies when it gets overwritten first), a start that is gone was evicted together with the
+    //changes after it, and the subscribers get a RESET before the cursor continues from the newest change.
+    private Flux<EmployeeChange> tail() {
+        ObjectId after = lastDelivered.get();
+        Mono<ObjectId> start = after == null ? newest() : Mono.just(after);
+        return start.flatMapMany(startId -> reactiveMongoTemplate.tail(new Query(), EmployeeChange.class)
+                .switchOnFirst((oldest, changes) -> {
+                    if (!oldest.hasValue() || oldest.get().getId().equals(startId)) {
+                        return changes;
+                    }
+                    return exists(startId).flatMapMany(found -> found
+                            ? changes.skipUntil(employeeChange -> employeeChange.getId().equals(startId))
+                            : newest().flatMapMany(newestId -> Flux.just(reset())
+                                    .concatWith(changes.skipUntil(employeeChange -> employeeChange.getId().equals(newestId)))));
+                }));
+    }
+
+    private Mono<ObjectId> newest() {
+        Query query = new Query().with(Sort.by(Sort.Direction.DESC, "$natural"));
+        return reactiveMongoTemplate.findOne(query, EmployeeChange.class)
+                .map(EmployeeChange::getId);
+    }
+
+    private Mono<Boolean> exists(ObjectId id) {
+        return reactiveMongoTemplate.exists(Query.query(Criteria.where("_id").is(id)), EmployeeChange.class);
+    }
+
+    private static boolean isCappedPositionLost(Throwable error) {
+        return NestedExceptionUtils.getMostSpecificCause(error) instanceof MongoServerException serverException
+                && serverException.getCode() == CAPPED_POSITION_LOST;
+    }
+
+    private static EmployeeChange reset() {
+        return EmployeeChange.builder()
+                .type(EmployeeChange.Type.RESET)
+                .build();
+    }
+}
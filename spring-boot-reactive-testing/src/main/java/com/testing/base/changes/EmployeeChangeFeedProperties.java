@@ -0,0 +1,21 @@
+package com.testing.base.changes;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "employees.changes")
+public class EmployeeChangeFeedProperties {
+    //Bounds of the capped employee_changes collection, only applied when the collection is created.
+    //How far back a subscriber can resume is limited by whichever is reached first.
+    private long collectionSizeBytes = 16 * 1024 * 1024;
+    private long collectionMaxDocuments = 10_000;
+    //Changes buffered per subscriber, a subscriber that falls further behind is disconnected and has to resume
+    private int subscriberBufferSize = 256;
+    //Delay before the shared tailable cursor is reopened after it died or failed
+    private Duration reconnectDelay = Duration.ofSeconds(1);
+}
@@ -0,0 +1,86 @@
+package com.testing.base.changes;
+
+import com.testing.base.entity.Employee;
+import com.testing.base.entity.EmployeeChange;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.data.mongodb.core.CollectionOptions;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import reactor.core.publisher.Mono;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+//Appends employee changes to the capped employee_changes collection that EmployeeChangeFeed tails
+@Slf4j
+public class EmployeeChangeLog implements InitializingBean {
+    private final ReactiveMongoTemplate reactiveMongoTemplate;
+    private final EmployeeChangeFeedProperties properties;
+
+    public EmployeeChangeLog(ReactiveMongoTemplate reactiveMongoTemplate, EmployeeChangeFeedProperties properties) {
+        this.reactiveMongoTemplate = reactiveMongoTemplate;
+        this.properties = properties;
+    }
+
+    //Has to run before the first write, inserting into a missing collection would create it uncapped
+    @Override
+    public void afterPropertiesSet() {
+        createCollectionIfMissing().block();
+    }
+
+    public Mono<Void> created(Employee employee) {
+        return record(EmployeeChange.Type.CREATED, employee.getId(), employee);
+    }
+
+    public Mono<Void> updated(Employee employee) {
+        return record(EmployeeChange.Type.UPDATED, employee.getId(), employee);
+    }
+
+    public Mono<Void> deleted(String employeeId) {
+        return record(EmployeeChange.Type.DELETED, employeeId, null);
+    }
+
+    public Mono<Void> reset() {
+        return record(EmployeeChange.Type.RESET, null, null);
+    }
+
+    //One insert for the outcome of a bulk upsert, the updated employees have to be the complete documents read back after the write
+    public Mono<Void> bulkUpserted(List<Employee> createdEmployees, List<Employee> updatedEmployees) {
+        List<EmployeeChange> employeeChanges = new ArrayList<>(createdEmployees.size() + updatedEmployees.size());
+        createdEmployees.forEach(employee -> employeeChanges.add(change(EmployeeChange.Type.CREATED, employee.getId(), employee)));
+        updatedEmployees.forEach(employee -> employeeChanges.add(change(EmployeeChange.Type.UPDATED, employee.getId(), employee)));
+        return employeeChanges.isEmpty()
+                ? Mono.empty()
+                : reactiveMongoTemplate.insertAll(employeeChanges).then();
+    }
+
+    private Mono<Void> record(EmployeeChange.Type type, String employeeId, Employee employee) {
+        return reactiveMongoTemplate.insert(change(type, employeeId, employee)).then();
+    }
+
+    private static EmployeeChange change(EmployeeChange.Type type, String employeeId, Employee employee) {
+        return EmployeeChange.builder()
+                .type(type)
+                .employeeId(employeeId)
+                .employee(employee)
+                .changedAt(Instant.now())
+                .build();
+    }
+
+    private Mono<Void> createCollectionIfMissing() {
+        return reactiveMongoTemplate.collectionExists(EmployeeChange.class)
+                .flatMap(exists -> exists
+                        ? Mono.<Void>empty()
+                        : reactiveMongoTemplate.createCollection(EmployeeChange.class, CollectionOptions.empty()
+                                        .capped()
+                                        .size(properties.getCollectionSizeBytes())
+                                        .maxDocuments(properties.getCollectionMaxDocuments()))
+                                .doOnNext(collection -> log.info("Created capped collection employee_changes"))
+                                .then(record(EmployeeChange.Type.OPENED, null, null))
+                                //another instance created it first
+                                .onErrorResume(error -> reactiveMongoTemplate.collectionExists(EmployeeChange.class)
+                                        .flatMap(createdElsewhere -> createdElsewhere ? Mono.<Void>empty() : Mono.error(error))))
+                .then();
+    }
+}
@@ -0,0 +1,37 @@
+package com.testing.base.coalescing;
+
+import reactor.core.publisher.Mono;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Function;
+
+//Coalesces concurrent loads of the same key: while a load is in flight every caller for that key subscribes to it
+//instead of starting another one. The entry is removed as soon as the load completes, fails or is cancelled by its
+//last subscriber, so results are never reused after the fact, that is left to the cache in front of it.
+public class SingleFlight<K, V> {
+    private final ConcurrentMap<K, Mono<V>> inFlight = new ConcurrentHashMap<>();
+
+    public Mono<V> execute(K key, Function<K, Mono<V>> loader) {
+        return Mono.defer(() -> {
+            Mono<V> existing = inFlight.get(key);
+            if (existing != null) {
+                return existing;
+            }
+            AtomicReference<Mono<V>> self = new AtomicReference<>();
+            //share() subscribes the loader once for all subscribers and cancels it only when all of them have cancelled,
+            //doFinally sits before it so it runs once per load and only removes the entry of this load
+            Mono<V> shared = loader.apply(key)
+                    .doFinally(signal -> inFlight.remove(key, self.get()))
+                    .share();
+            self.set(shared);
+            Mono<V> raced = inFlight.putIfAbsent(key, shared);
+            return raced != null ? raced : shared;
+        });
+    }
+
+    public int inFlight() {
+        return inFlight.size();
+    }
+}
@@ -0,0 +1,30 @@
+package com.testing.base.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.testing.base.limiter.AdaptiveConcurrencyLimitFilter;
+import com.testing.base.limiter.AdaptiveConcurrencyLimitProperties;
+import com.testing.base.limiter.AdaptiveConcurrencyLimiter;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+
+@Configuration
+@EnableConfigurationProperties(AdaptiveConcurrencyLimitProperties.class)
+public class AdaptiveConcurrencyLimitConfig {
+
+    @Bean
+    public AdaptiveConcurrencyLimiter adaptiveConcurrencyLimiter(AdaptiveConcurrencyLimitProperties properties) {
+        return new AdaptiveConcurrencyLimiter(properties);
+    }
+
+    //First in the chain, a rejected request costs as little as possible
+    @Bean
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    public AdaptiveConcurrencyLimitFilter adaptiveConcurrencyLimitFilter(AdaptiveConcurrencyLimiter limiter,
+                                                                         AdaptiveConcurrencyLimitProperties properties,
+                                                                         ObjectMapper objectMapper) {
+        return new AdaptiveConcurrencyLimitFilter(limiter, properties, objectMapper);
+    }
+}
@@ -0,0 +1,94 @@
+package com.testing.base.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import org.reactivestreams.Publisher;
+import org.springframework.boot.web.codec.CodecCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.ResolvableType;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferFactory;
+import org.springframework.http.MediaType;
+import org.springframework.http.codec.cbor.Jackson2CborDecoder;
+import org.springframework.http.codec.cbor.Jackson2CborEncoder;
+import org.springframework.http.codec.json.AbstractJackson2Encoder;
+import org.springframework.http.codec.json.Jackson2SmileDecoder;
+import org.springframework.http.codec.json.Jackson2SmileEncoder;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.util.MimeType;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+import java.util.Map;
+
+//Binary encodings of the same Jackson model for service-to-service callers, picked through Accept/Content-Type.
+//application/cbor and application/x-jackson-smile encode single values and whole lists,
+//application/stream+x-jackson-smile streams a Flux element by element (the CBOR encoder can't stream).
+//The mime types have to be given explicitly: without them the Jackson codecs fall back to application/json,
+//and being registered before the defaults they would answer every JSON request in CBOR or Smile.
+@Configuration
+public class BinaryFormatConfig {
+    private static final MimeType[] SMILE_MIME_TYPES = {
+            new MimeType("application", "x-jackson-smile"),
+            new MimeType("application", "*+x-jackson-smile")
+    };
+
+    @Bean
+    public CodecCustomizer binaryFormatCodecCustomizer(Jackson2ObjectMapperBuilder builder) {
+        ObjectMapper cborMapper = builder.factory(new CBORFactory()).build();
+        ObjectMapper smileMapper = builder.factory(new SmileFactory()).build();
+        return configurer -> {
+            configurer.customCodecs().register(new CborEncoder(cborMapper));
+            configurer.customCodecs().register(new Jackson2CborDecoder(cborMapper, MediaType.APPLICATION_CBOR));
+            configurer.customCodecs().register(new SmileEncoder(smileMapper));
+            configurer.customCodecs().register(new Jackson2SmileDecoder(smileMapper, SMILE_MIME_TYPES));
+        };
+    }
+
+    //Jackson2CborEncoder only implements encodeValue and throws from encode, which is what EncoderHttpMessageWriter calls
+    //for every response body. A Mono is encoded as its value, a Flux as one CBOR array of its elements.
+    private static class CborEncoder extends Jackson2CborEncoder {
+        CborEncoder(ObjectMapper mapper) {
+            super(mapper, MediaType.APPLICATION_CBOR);
+        }
+
+        @Override
+        public Flux<DataBuffer> encode(Publisher<?> inputStream, DataBufferFactory bufferFactory, ResolvableType elementType,
+                                       MimeType mimeType, Map<String, Object> hints) {
+            if (inputStream instanceof Mono<?> mono) {
+                return mono.map(value -> encodeValue(value, bufferFactory, elementType, mimeType, hints)).flux();
+            }
+            return encodeAsList(this, inputStream, bufferFactory, elementType, mimeType, hints);
+        }
+    }
+
+    //Outside of application/stream+x-jackson-smile, Jackson2SmileEncoder writes a Flux between the bytes of a JSON array's
+    //brackets and commas, which no Smile parser reads. Those are encoded as one Smile array of the elements instead.
+    private static class SmileEncoder extends Jackson2SmileEncoder {
+        SmileEncoder(ObjectMapper mapper) {
+            super(mapper, SMILE_MIME_TYPES);
+        }
+
+        @Override
+        public Flux<DataBuffer> encode(Publisher<?> inputStream, DataBufferFactory bufferFactory, ResolvableType elementType,
+                                       MimeType mimeType, Map<String, Object> hints) {
+            boolean streaming = mimeType != null && getStreamingMediaTypes().stream().anyMatch(mimeType::equalsTypeAndSubtype);
+            if (inputStream instanceof Mono || streaming) {
+                return super.encode(inputStream, bufferFactory, elementType, mimeType, hints);
+            }
+            return encodeAsList(this, inputStream, bufferFactory, elementType, mimeType, hints);
+        }
+    }
+
+    private static Flux<DataBuffer> encodeAsList(AbstractJackson2Encoder encoder, Publisher<?> inputStream, DataBufferFactory bufferFactory,
+                                                 ResolvableType elementType, MimeType mimeType, Map<String, Object> hints) {
+        ResolvableType listType = ResolvableType.forClassWithGenerics(List.class, elementType);
+        return Flux.from(inputStream)
+                .collectList()
+                .map(values -> encoder.encodeValue(values, bufferFactory, listType, mimeType, hints))
+                .flux();
+    }
+}
@@ -0,0 +1,30 @@
+package com.testing.base.config;
+
+import com.testing.base.blockhound.BlockHoundProperties;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+import reactor.blockhound.BlockHound;
+import reactor.blockhound.BlockingOperationError;
+
+//Opt-in blocking call detection for staging load tests: spring.profiles.active=blockhound, and the JVM started with
+//-XX:+AllowRedefinitionToAddDeleteMethods, gradle bootRun -Pblockhound sets both.
+//Installed while the context is created, before Netty accepts requests.
+@Slf4j
+@Configuration
+@Profile("blockhound")
+@EnableConfigurationProperties(BlockHoundProperties.class)
+public class BlockHoundConfig {
+
+    public BlockHoundConfig(BlockHoundProperties properties) {
+        BlockHound.install(builder -> builder.blockingMethodCallback(method -> {
+            BlockingOperationError error = new BlockingOperationError(method);
+            if (properties.isFailOnBlockingCall()) {
+                throw error;
+            }
+            log.error("Blocking call on non-blocking thread {}", Thread.currentThread().getName(), error);
+        }));
+        log.info("BlockHound installed, failing blocking calls: {}", properties.isFailOnBlockingCall());
+    }
+}
@@ -0,0 +1,20 @@
+package com.testing.base.config;
+
+import com.testing.base.batching.EmployeeBatchLoader;
+import com.testing.base.batching.EmployeeBatchLoaderProperties;
+import com.testing.base.repository.EmployeeRepository;
+import com.testing.base.resilience.MongoCallPolicy;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@EnableConfigurationProperties(EmployeeBatchLoaderProperties.class)
+public class EmployeeBatchLoaderConfig {
+
+    @Bean(destroyMethod = "shutdown")
+    public EmployeeBatchLoader employeeBatchLoader(EmployeeRepository employeeRepository, EmployeeBatchLoaderProperties properties,
+                                                   MongoCallPolicy mongoCallPolicy) {
+        return new EmployeeBatchLoader(employeeRepository, properties, mongoCallPolicy);
+    }
+}
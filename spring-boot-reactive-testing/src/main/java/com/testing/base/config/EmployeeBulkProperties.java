@@ -0,0 +1,15 @@
+package com.testing.base.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "employees.bulk")
+public class EmployeeBulkProperties {
+    //Employees sent to Mongo per unordered bulk write
+    private int chunkSize = 1000;
+    //Bulk writes of one request in flight at the same time
+    private int concurrency = 2;
+}
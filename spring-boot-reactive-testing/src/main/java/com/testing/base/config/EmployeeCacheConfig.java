@@ -0,0 +1,17 @@
+package com.testing.base.config;
+
+import com.testing.base.cache.EmployeeCache;
+import com.testing.base.cache.EmployeeCacheProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@EnableConfigurationProperties(EmployeeCacheProperties.class)
+public class EmployeeCacheConfig {
+
+    @Bean
+    public EmployeeCache employeeCache(EmployeeCacheProperties properties) {
+        return new EmployeeCache(properties);
+    }
+}
@@ -0,0 +1,24 @@
+package com.testing.base.config;
+
+import com.testing.base.changes.EmployeeChangeFeed;
+import com.testing.base.changes.EmployeeChangeFeedProperties;
+import com.testing.base.changes.EmployeeChangeLog;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+
+@Configuration
+@EnableConfigurationProperties(EmployeeChangeFeedProperties.class)
+public class EmployeeChangeFeedConfig {
+
+    @Bean
+    public EmployeeChangeLog employeeChangeLog(ReactiveMongoTemplate reactiveMongoTemplate, EmployeeChangeFeedProperties properties) {
+        return new EmployeeChangeLog(reactiveMongoTemplate, properties);
+    }
+
+    @Bean
+    public EmployeeChangeFeed employeeChangeFeed(ReactiveMongoTemplate reactiveMongoTemplate, EmployeeChangeFeedProperties properties) {
+        return new EmployeeChangeFeed(reactiveMongoTemplate, properties);
+    }
+}
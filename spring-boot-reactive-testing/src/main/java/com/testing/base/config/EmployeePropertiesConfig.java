@@ -0,0 +1,9 @@
+package com.testing.base.config;
+
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@EnableConfigurationProperties({EmployeeStreamingProperties.class, EmployeeBulkProperties.class})
+public class EmployeePropertiesConfig {
+}
@@ -0,0 +1,14 @@
+package com.testing.base.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "employees.streaming")
+public class EmployeeStreamingProperties {
+    //Documents per Mongo cursor batch and the most the streaming endpoints request from the cursor at once,
+    //together they bound how much of the collection is held in memory per streaming response
+    private int batchSize = 256;
+}
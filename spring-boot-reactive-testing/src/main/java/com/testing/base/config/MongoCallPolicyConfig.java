@@ -0,0 +1,34 @@
+package com.testing.base.config;
+
+import com.testing.base.resilience.EmployeeDeadlineProperties;
+import com.testing.base.resilience.EmployeeRetryProperties;
+import com.testing.base.resilience.MongoCallPolicy;
+import com.testing.base.resilience.RequestDeadlineFilter;
+import com.testing.base.resilience.RetryBudget;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+
+@Configuration
+@EnableConfigurationProperties({EmployeeDeadlineProperties.class, EmployeeRetryProperties.class})
+public class MongoCallPolicyConfig {
+
+    @Bean
+    public RetryBudget retryBudget(EmployeeRetryProperties properties) {
+        return new RetryBudget(properties);
+    }
+
+    @Bean
+    public MongoCallPolicy mongoCallPolicy(EmployeeDeadlineProperties deadlineProperties, EmployeeRetryProperties retryProperties, RetryBudget retryBudget) {
+        return new MongoCallPolicy(deadlineProperties, retryProperties, retryBudget);
+    }
+
+    //Right after the concurrency limit, requests it rejects don't need a deadline
+    @Bean
+    @Order(Ordered.HIGHEST_PRECEDENCE + 1)
+    public RequestDeadlineFilter requestDeadlineFilter() {
+        return new RequestDeadlineFilter();
+    }
+}
@@ -0,0 +1,18 @@
+package com.testing.base.config;
+
+import com.testing.base.converter.EmployeeDtoReadingConverter;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.mongodb.core.convert.MongoCustomConversions;
+
+import java.util.List;
+
+@Configuration
+public class MongoConversionsConfig {
+
+    //Replaces the auto-configured conversions, picked up by the mapping converter behind ReactiveMongoTemplate
+    @Bean
+    public MongoCustomConversions mongoCustomConversions() {
+        return new MongoCustomConversions(List.of(new EmployeeDtoReadingConverter()));
+    }
+}
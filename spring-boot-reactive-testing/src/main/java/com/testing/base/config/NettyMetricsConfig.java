@@ -0,0 +1,31 @@
+package com.testing.base.config;
+
+import org.springframework.boot.web.embedded.netty.NettyServerCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.Set;
+import java.util.function.Function;
+
+@Configuration
+public class NettyMetricsConfig {
+    private static final String EMPLOYEES_PATH = "/api/employees/";
+    private static final Set<String> EMPLOYEES_SUBRESOURCES = Set.of("bulk", "changes");
+
+    //reactor.netty.http.server.* meters (data sent and received, response time, connections) registered in the global
+    //registry, which Spring Boot adds its registries to. Every employee id would be its own uri tag, so ids are collapsed.
+    @Bean
+    public NettyServerCustomizer nettyMetricsCustomizer() {
+        return httpServer -> httpServer.metrics(true, uriTagValue());
+    }
+
+    static Function<String, String> uriTagValue() {
+        return uri -> {
+            if (!uri.startsWith(EMPLOYEES_PATH)) {
+                return uri;
+            }
+            String rest = uri.substring(EMPLOYEES_PATH.length());
+            return EMPLOYEES_SUBRESOURCES.contains(rest) ? uri : EMPLOYEES_PATH + "{id}";
+        };
+    }
+}
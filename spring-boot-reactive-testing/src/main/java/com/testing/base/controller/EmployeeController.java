@@ -1,19 +1,29 @@
 package com.testing.base.controller;
 
+import com.testing.base.changes.EmployeeChangeFeed;
+import com.testing.base.dto.EmployeeBulkResultDto;
+import com.testing.base.dto.EmployeeChangeDto;
 import com.testing.base.dto.EmployeeDto;
 import com.testing.base.service.EmployeeService;
+import org.springframework.context.annotation.Profile;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.codec.ServerSentEvent;
 import org.springframework.web.bind.annotation.*;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
+//The annotated model, active unless the functional profile selects EmployeeRouter instead
 @RestController
 @RequestMapping("/api/employees")
+@Profile("!functional")
 public class EmployeeController {
     private final EmployeeService employeeService;
+    private final EmployeeChangeFeed employeeChangeFeed;
 
-    public EmployeeController(EmployeeService employeeService) {
+    public EmployeeController(EmployeeService employeeService, EmployeeChangeFeed employeeChangeFeed) {
         this.employeeService = employeeService;
+        this.employeeChangeFeed = employeeChangeFeed;
     }
 
     @PostMapping
@@ -22,16 +32,66 @@ public class EmployeeController {
         return employeeService.saveEmployee(employeeDto);
     }
 
+    //Upserts every employee of the array by id, or by email when it has no id, in chunked unordered bulk writes.
+    //The array is decoded element by element, the response has one result per employee in request order.
+    @PostMapping("bulk")
+    @ResponseStatus(value = HttpStatus.OK)
+    public Flux<EmployeeBulkResultDto> bulkUpsertEmployees(@RequestBody Flux<EmployeeDto> employeeDtos) {
+        return employeeService.bulkUpsertEmployees(employeeDtos);
+    }
+
     @GetMapping("{id}")
     @ResponseStatus(value = HttpStatus.OK)
-    public Mono<EmployeeDto> getEmployeeById(@PathVariable("id") String employeeId) {
+    public Mono<EmployeeDto> getEmployeeById(@PathVariable("id") String employeeId,
+                                             @RequestParam(name = "fields", required = false) String fields) {
+        if (fields != null) {
+            return employeeService.getEmployeeById(employeeId, EmployeeQueryParameters.parseFields(fields));
+        }
         return employeeService.getEmployeeById(employeeId);
     }
 
+    //Without parameters the whole collection is returned. With after and/or limit a page ordered by id is returned,
+    //and the next page is requested with after=<id of the last employee received>.
+    //fields=email,lastName only reads and returns those fields (and id), for the whole collection or a page.
     @GetMapping
     @ResponseStatus(value = HttpStatus.OK)
-    public Flux<EmployeeDto> getAllEmployees() {
-        return employeeService.getAllEmployees();
+    public Flux<EmployeeDto> getAllEmployees(@RequestParam(name = "after", required = false) String afterId,
+                                             @RequestParam(name = "limit", required = false) Integer limit,
+                                             @RequestParam(name = "fields", required = false) String fields) {
+        Integer pageSize = EmployeeQueryParameters.pageSize(afterId, limit);
+        if (fields != null) {
+            return employeeService.getEmployeesWithFields(EmployeeQueryParameters.parseFields(fields), afterId, pageSize);
+        }
+        if (pageSize == null) {
+            return employeeService.getAllEmployees();
+        }
+        return employeeService.getEmployeesPage(afterId, pageSize);
+    }
+
+    //Accept: application/x-ndjson streams one employee per line as it comes off the cursor, with backpressure from the connection
+    @GetMapping(produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public Flux<EmployeeDto> streamAllEmployees(@RequestParam(name = "after", required = false) String afterId) {
+        return employeeService.streamAllEmployees(afterId);
+    }
+
+    //Accept: text/event-stream, the event id is the employee id so a reconnecting EventSource resumes where it stopped
+    @GetMapping(produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public Flux<ServerSentEvent<EmployeeDto>> streamAllEmployeeEvents(@RequestHeader(name = "Last-Event-ID", required = false) String lastEventId) {
+        return employeeService.streamAllEmployees(lastEventId)
+                .map(employeeDto -> ServerSentEvent.builder(employeeDto)
+                        .id(employeeDto.getId())
+                        .build());
+    }
+
+    //Live feed of employee changes, each event id is a resume token for Last-Event-ID.
+    //A "reset" event means the token is too old to resume from and the client has to reload the employees.
+    @GetMapping(value = "changes", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public Flux<ServerSentEvent<EmployeeChangeDto>> getEmployeeChanges(@RequestHeader(name = "Last-Event-ID", required = false) String lastEventId) {
+        return employeeChangeFeed.changes(lastEventId)
+                .map(employeeChangeDto -> ServerSentEvent.builder(employeeChangeDto)
+                        .id(employeeChangeDto.getId())
+                        .event(employeeChangeDto.getType().name().toLowerCase())
+                        .build());
     }
 
     @PutMapping("{id}")
@@ -0,0 +1,44 @@
+package com.testing.base.controller;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.util.LinkedHashSet;
+import java.util.Set;
+
+//Query parameters of the employee list and get endpoints, shared by EmployeeController and the functional EmployeeHandler
+public final class EmployeeQueryParameters {
+    private static final int DEFAULT_PAGE_SIZE = 100;
+    private static final int MAX_PAGE_SIZE = 1000;
+    //Fields that can be asked for with ?fields=, id is always returned
+    private static final Set<String> PROJECTABLE_FIELDS = Set.of("id", "firstName", "lastName", "email");
+
+    private EmployeeQueryParameters() {
+    }
+
+    //Null when neither after nor limit is given and the whole collection is asked for
+    public static Integer pageSize(String afterId, Integer limit) {
+        if (afterId == null && limit == null) {
+            return null;
+        }
+        return limit == null ? DEFAULT_PAGE_SIZE : Math.max(1, Math.min(limit, MAX_PAGE_SIZE));
+    }
+
+    public static Set<String> parseFields(String fields) {
+        Set<String> requestedFields = new LinkedHashSet<>();
+        for (String field : fields.split(",")) {
+            String trimmedField = field.trim();
+            if (trimmedField.isEmpty()) {
+                continue;
+            }
+            if (!PROJECTABLE_FIELDS.contains(trimmedField)) {
+                throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Unknown field " + trimmedField + ", fields can be " + PROJECTABLE_FIELDS);
+            }
+            requestedFields.add(trimmedField);
+        }
+        if (requestedFields.isEmpty()) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "At least one field has to be requested");
+        }
+        return requestedFields;
+    }
+}
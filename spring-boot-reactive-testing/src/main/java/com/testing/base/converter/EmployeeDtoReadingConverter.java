@@ -0,0 +1,25 @@
+package com.testing.base.converter;
+
+import com.testing.base.dto.EmployeeDto;
+import org.bson.Document;
+import org.bson.types.ObjectId;
+import org.springframework.core.convert.converter.Converter;
+import org.springframework.data.convert.ReadingConverter;
+
+//Reads an employees document straight into the EmployeeDto the API returns. Without it every read builds an Employee
+//through the reflective entity mapping and then copies it into a new EmployeeDto with EmployeeMapper.
+//Fields missing from the document, e.g. left out by a projection, stay null.
+@ReadingConverter
+public class EmployeeDtoReadingConverter implements Converter<Document, EmployeeDto> {
+
+    @Override
+    public EmployeeDto convert(Document source) {
+        Object id = source.get("_id");
+        return new EmployeeDto(
+                id instanceof ObjectId objectId ? objectId.toHexString() : id == null ? null : id.toString(),
+                source.getString("firstName"),
+                source.getString("lastName"),
+                source.getString("email")
+        );
+    }
+}
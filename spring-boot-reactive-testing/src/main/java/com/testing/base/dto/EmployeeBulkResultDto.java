@@ -0,0 +1,23 @@
+package com.testing.base.dto;
+
+import lombok.*;
+
+//Outcome of one employee of a bulk upsert, index is its position in the request
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class EmployeeBulkResultDto {
+    public enum Status {
+        INSERTED,
+        //Matched an existing employee, whether or not a field actually changed
+        UPDATED,
+        FAILED
+    }
+
+    private long index;
+    private String id;
+    private String email;
+    private Status status;
+    private String error;
+}
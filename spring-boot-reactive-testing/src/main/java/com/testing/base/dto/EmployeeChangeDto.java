@@ -0,0 +1,16 @@
+package com.testing.base.dto;
+
+import com.testing.base.entity.EmployeeChange;
+import lombok.*;
+
+//A change pushed to live feed subscribers, id is the resume token to send back as Last-Event-ID
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class EmployeeChangeDto {
+    private String id;
+    private EmployeeChange.Type type;
+    private String employeeId;
+    private EmployeeDto employee;
+}
@@ -1,8 +1,11 @@
 package com.testing.base.dto;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
 import lombok.*;
 
 //To transfer the data between client and server
+//Null fields are left out, so a ?fields= projection only serializes the fields that were asked for
+@JsonInclude(JsonInclude.Include.NON_NULL)
 @Getter
 @Setter
 @NoArgsConstructor
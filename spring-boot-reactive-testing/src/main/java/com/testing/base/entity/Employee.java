@@ -2,6 +2,7 @@ package com.testing.base.entity;
 
 import lombok.*;
 import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.Indexed;
 import org.springframework.data.mongodb.core.mapping.Document;
 
 @Getter
@@ -15,5 +16,8 @@ public class Employee {
     private String id;
     private String firstName;
     private String lastName;
+    //Created at startup by spring.data.mongodb.auto-index-creation, inserting a duplicate email fails with DuplicateKeyException.
+    //Sparse, so any number of employees can be stored without an email (null fields are not written to the document).
+    @Indexed(unique = true, sparse = true)
     private String email;
 }
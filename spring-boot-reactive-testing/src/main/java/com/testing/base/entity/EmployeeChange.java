@@ -0,0 +1,36 @@
+package com.testing.base.entity;
+
+import lombok.*;
+import org.bson.types.ObjectId;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.time.Instant;
+
+//One entry of the capped change log, the ObjectId is the resume token handed to feed subscribers
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Document(collection = "employee_changes")
+public class EmployeeChange {
+    public enum Type {
+        //Written once when the capped collection is created, a tailable cursor dies straight away on an empty collection
+        OPENED,
+        CREATED,
+        UPDATED,
+        DELETED,
+        //Sent to a subscriber whose resume token is no longer in the capped collection, and stored when the state
+        //after a bulk upsert couldn't be read back: either way the client has to reload the employees
+        RESET
+    }
+
+    @Id
+    private ObjectId id;
+    private Type type;
+    private String employeeId;
+    //State after the change, null for deletes
+    private Employee employee;
+    private Instant changedAt;
+}
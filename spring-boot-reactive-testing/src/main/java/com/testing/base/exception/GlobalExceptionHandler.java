@@ -0,0 +1,53 @@
+package com.testing.base.exception;
+
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ProblemDetail;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.RestControllerAdvice;
+
+import java.util.concurrent.TimeoutException;
+
+//Maps data access exceptions to application/problem+json responses instead of letting them surface as 500s
+@RestControllerAdvice
+public class GlobalExceptionHandler {
+
+    //Raised by Mongo for the unique index on employees.email, so duplicates are rejected by the insert itself
+    @ExceptionHandler(DuplicateKeyException.class)
+    public ResponseEntity<ProblemDetail> handleDuplicateKeyException(DuplicateKeyException exception) {
+        return ResponseEntity.status(HttpStatus.CONFLICT)
+                .contentType(MediaType.APPLICATION_PROBLEM_JSON)
+                .body(employeeConflict());
+    }
+
+    //A Mongo call ran out of its operation timeout or of the deadline sent with the request, see MongoCallPolicy
+    @ExceptionHandler(TimeoutException.class)
+    public ResponseEntity<ProblemDetail> handleTimeoutException(TimeoutException exception) {
+        return ResponseEntity.status(HttpStatus.GATEWAY_TIMEOUT)
+                .contentType(MediaType.APPLICATION_PROBLEM_JSON)
+                .body(employeeTimeout());
+    }
+
+    //Also used by the functional EmployeeHandler, controller advice doesn't apply to router functions
+    public static ProblemDetail employeeConflict() {
+        ProblemDetail problemDetail = ProblemDetail.forStatusAndDetail(HttpStatus.CONFLICT, "Employee already exists with the given email");
+        problemDetail.setTitle("Employee conflict");
+        return problemDetail;
+    }
+
+    //Also used by the functional EmployeeHandler
+    public static ProblemDetail employeeTimeout() {
+        ProblemDetail problemDetail = ProblemDetail.forStatusAndDetail(HttpStatus.GATEWAY_TIMEOUT, "The employee operation did not complete in time");
+        problemDetail.setTitle("Employee operation timed out");
+        return problemDetail;
+    }
+
+    //Written by AdaptiveConcurrencyLimitFilter, which rejects before any handler runs
+    public static ProblemDetail serviceOverloaded() {
+        ProblemDetail problemDetail = ProblemDetail.forStatusAndDetail(HttpStatus.SERVICE_UNAVAILABLE, "Too many employee requests in flight, retry later");
+        problemDetail.setTitle("Service overloaded");
+        return problemDetail;
+    }
+}
@@ -0,0 +1,108 @@
+package com.testing.base.limiter;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.testing.base.exception.GlobalExceptionHandler;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.MediaType;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.web.ErrorResponse;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.server.WebFilter;
+import org.springframework.web.server.WebFilterChain;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.SignalType;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
+
+//Puts AdaptiveConcurrencyLimiter in front of /api/employees for the controller and the functional routes alike.
+//Streams (NDJSON, SSE and the change feed) are left out: they stay open for as long as the client reads, so their
+//duration says nothing about Mongo and counting them would starve the short requests the limit is meant for.
+public class AdaptiveConcurrencyLimitFilter implements WebFilter {
+    private static final String EMPLOYEES_PATH = "/api/employees";
+    private static final List<MediaType> STREAMING_MEDIA_TYPES = List.of(MediaType.APPLICATION_NDJSON, MediaType.TEXT_EVENT_STREAM);
+
+    private final AdaptiveConcurrencyLimiter limiter;
+    private final AdaptiveConcurrencyLimitProperties properties;
+    private final ObjectMapper objectMapper;
+
+    public AdaptiveConcurrencyLimitFilter(AdaptiveConcurrencyLimiter limiter, AdaptiveConcurrencyLimitProperties properties, ObjectMapper objectMapper) {
+        this.limiter = limiter;
+        this.properties = properties;
+        this.objectMapper = objectMapper;
+    }
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, WebFilterChain chain) {
+        if (!properties.isEnabled() || !isLimited(exchange.getRequest())) {
+            return chain.filter(exchange);
+        }
+        if (!limiter.tryAcquire()) {
+            return reject(exchange.getResponse());
+        }
+        int inFlightAtStart = limiter.getInFlight();
+        long start = System.nanoTime();
+        AtomicReference<Throwable> failure = new AtomicReference<>();
+        return chain.filter(exchange)
+                .doOnError(failure::set)
+                .doFinally(signalType -> {
+                    if (signalType == SignalType.CANCEL || isClientError(failure.get())) {
+                        limiter.onIgnore();
+                    } else if (isOverload(failure.get(), exchange.getResponse().getStatusCode())) {
+                        limiter.onDropped();
+                    } else {
+                        limiter.onSuccess(System.nanoTime() - start, inFlightAtStart);
+                    }
+                });
+    }
+
+    //Bad requests, unknown routes and the like also reach the filters as errors. They say nothing about Mongo, and
+    //counting them as drops would let a client push the limit down to minLimit just by sending malformed requests.
+    private static boolean isClientError(Throwable error) {
+        return error instanceof ErrorResponse errorResponse && errorResponse.getStatusCode().is4xxClientError();
+    }
+
+    //Timeouts and anything else that ends as a 5xx, including errors without a status, which are answered with 500
+    private static boolean isOverload(Throwable error, HttpStatusCode status) {
+        if (error instanceof ErrorResponse errorResponse) {
+            return errorResponse.getStatusCode().is5xxServerError();
+        }
+        return error != null || (status != null && status.is5xxServerError());
+    }
+
+    //Only the streaming reads are exempt: GET of the list with a streaming Accept, and GET of the change feed.
+    //Anything else, e.g. a PUT sending Accept: text/event-stream, is a short request and is limited.
+    private static boolean isLimited(ServerHttpRequest request) {
+        String path = request.getPath().pathWithinApplication().value();
+        if (!path.startsWith(EMPLOYEES_PATH)) {
+            return false;
+        }
+        if (!HttpMethod.GET.equals(request.getMethod())) {
+            return true;
+        }
+        if (path.equals(EMPLOYEES_PATH + "/changes")) {
+            return false;
+        }
+        //Same rule as the routes: Accept: */* gets the JSON list, not a stream
+        return !path.equals(EMPLOYEES_PATH) || request.getHeaders().getAccept().stream()
+                .noneMatch(accepted -> !accepted.isWildcardType()
+                        && STREAMING_MEDIA_TYPES.stream().anyMatch(accepted::isCompatibleWith));
+    }
+
+    private Mono<Void> reject(ServerHttpResponse response) {
+        byte[] body;
+        try {
+            body = objectMapper.writeValueAsBytes(GlobalExceptionHandler.serviceOverloaded());
+        } catch (JsonProcessingException exception) {
+            return Mono.error(exception);
+        }
+        response.setStatusCode(HttpStatusCode.valueOf(503));
+        response.getHeaders().set(HttpHeaders.RETRY_AFTER, String.valueOf(Math.max(1, properties.getRetryAfter().toSeconds())));
+        response.getHeaders().setContentType(MediaType.APPLICATION_PROBLEM_JSON);
+        return response.writeWith(Mono.fromSupplier(() -> response.bufferFactory().wrap(body)));
+    }
+}
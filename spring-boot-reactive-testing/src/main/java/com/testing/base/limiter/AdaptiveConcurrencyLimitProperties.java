@@ -0,0 +1,29 @@
+package com.testing.base.limiter;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "employees.concurrency-limit")
+public class AdaptiveConcurrencyLimitProperties {
+    //When disabled every request is let through
+    private boolean enabled = true;
+    //In-flight requests allowed at startup, the limit then moves between minLimit and maxLimit
+    private int initialLimit = 20;
+    private int minLimit = 4;
+    private int maxLimit = 500;
+    //How far the latency of a request may rise above the long-term average before the limit shrinks, 1.5 = 50% higher
+    private double tolerance = 1.5;
+    //Weight of each new limit estimate, lower values react slower but are less noisy
+    private double smoothing = 0.2;
+    //Number of requests the long-term latency average is taken over
+    private int longWindow = 600;
+    //Multiplicative decrease applied on a timeout or a 5xx response
+    private double backoffRatio = 0.9;
+    //Sent as Retry-After with the 503 of a rejected request
+    private Duration retryAfter = Duration.ofSeconds(1);
+}
@@ -0,0 +1,101 @@
+package com.testing.base.limiter;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+//Limit on in-flight requests that follows the latency Mongo gives us, in the style of Netflix's gradient limiter.
+//Each completed request compares its latency with the long-term average: while they are close the limit grows by about
+//sqrt(limit), once latency rises above average * tolerance the limit shrinks proportionally (at most by half per sample).
+//Timeouts and 5xx responses cut the limit by backoffRatio, AIMD style. tryAcquire never waits, so a request over the
+//limit is rejected right away instead of queueing behind the ones already waiting on Mongo.
+public class AdaptiveConcurrencyLimiter implements MeterBinder {
+    private final AdaptiveConcurrencyLimitProperties properties;
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final AtomicLong rejected = new AtomicLong();
+    private volatile double limit;
+    //Guarded by this
+    private double longRttNanos;
+
+    public AdaptiveConcurrencyLimiter(AdaptiveConcurrencyLimitProperties properties) {
+        this.properties = properties;
+        this.limit = properties.getInitialLimit();
+    }
+
+    //Returns false when the limit is reached, otherwise the caller must call exactly one of onSuccess, onDropped or onIgnore
+    public boolean tryAcquire() {
+        while (true) {
+            int current = inFlight.get();
+            if (current >= (int) limit) {
+                rejected.incrementAndGet();
+                return false;
+            }
+            if (inFlight.compareAndSet(current, current + 1)) {
+                return true;
+            }
+        }
+    }
+
+    //inFlightAtStart is getInFlight() right after tryAcquire, it tells whether the request ran with the limit nearly used
+    public void onSuccess(long rttNanos, int inFlightAtStart) {
+        inFlight.decrementAndGet();
+        update(rttNanos, inFlightAtStart);
+    }
+
+    public synchronized void onDropped() {
+        inFlight.decrementAndGet();
+        limit = clamp(limit * properties.getBackoffRatio());
+    }
+
+    //Cancelled by the client, the latency says nothing about Mongo
+    public void onIgnore() {
+        inFlight.decrementAndGet();
+    }
+
+    public int getLimit() {
+        return (int) limit;
+    }
+
+    public int getInFlight() {
+        return inFlight.get();
+    }
+
+    private synchronized void update(long rttNanos, int inFlightAtStart) {
+        double rtt = Math.max(rttNanos, 1);
+        longRttNanos = longRttNanos == 0 ? rtt : longRttNanos + (rtt - longRttNanos) / properties.getLongWindow();
+        //After an overload the long-term average lags far behind, let it come down faster so the limit can grow again
+        if (longRttNanos / rtt > 2) {
+            longRttNanos *= 0.95;
+        }
+        double gradient = Math.max(0.5, Math.min(1.0, properties.getTolerance() * longRttNanos / rtt));
+        //With few requests in flight there is no evidence the limit is too low, so it may shrink but not grow
+        boolean appLimited = inFlightAtStart < limit / 2;
+        double estimate = limit * gradient + (appLimited ? 0 : Math.sqrt(limit));
+        if (appLimited && estimate > limit) {
+            return;
+        }
+        limit = clamp(limit * (1 - properties.getSmoothing()) + estimate * properties.getSmoothing());
+    }
+
+    private double clamp(double value) {
+        return Math.max(properties.getMinLimit(), Math.min(properties.getMaxLimit(), value));
+    }
+
+    //employees.concurrency.limit, employees.concurrency.in-flight and employees.concurrency.rejected
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("employees.concurrency.limit", this, AdaptiveConcurrencyLimiter::getLimit)
+                .description("Current adaptive limit on in-flight employee requests")
+                .register(registry);
+        Gauge.builder("employees.concurrency.in-flight", this, AdaptiveConcurrencyLimiter::getInFlight)
+                .description("Employee requests in flight")
+                .register(registry);
+        FunctionCounter.builder("employees.concurrency.rejected", rejected, AtomicLong::get)
+                .description("Employee requests rejected with 503 over the limit")
+                .register(registry);
+    }
+}
@@ -1,7 +1,9 @@
 package com.testing.base.mapper;
 
+import com.testing.base.dto.EmployeeChangeDto;
 import com.testing.base.dto.EmployeeDto;
 import com.testing.base.entity.Employee;
+import com.testing.base.entity.EmployeeChange;
 
 public class EmployeeMapper {
     public static EmployeeDto mapToEmployeeDto(Employee employee) {
@@ -21,4 +23,13 @@ public class EmployeeMapper {
                 employeeDto.getEmail()
         );
     }
+
+    public static EmployeeChangeDto mapToEmployeeChangeDto(EmployeeChange employeeChange) {
+        return new EmployeeChangeDto(
+                employeeChange.getId() == null ? null : employeeChange.getId().toHexString(),
+                employeeChange.getType(),
+                employeeChange.getEmployeeId(),
+                employeeChange.getEmployee() == null ? null : mapToEmployeeDto(employeeChange.getEmployee())
+        );
+    }
 }
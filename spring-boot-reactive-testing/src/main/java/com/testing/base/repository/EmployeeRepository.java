@@ -3,6 +3,6 @@ package com.testing.base.repository;
 import com.testing.base.entity.Employee;
 import org.springframework.data.repository.reactive.ReactiveCrudRepository;
 
-public interface EmployeeRepository extends ReactiveCrudRepository<Employee, String> {
+public interface EmployeeRepository extends ReactiveCrudRepository<Employee, String>, EmployeeRepositoryCustom {
 
 }
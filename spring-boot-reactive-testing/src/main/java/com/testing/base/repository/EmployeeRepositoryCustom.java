@@ -0,0 +1,32 @@
+package com.testing.base.repository;
+
+import com.mongodb.bulk.BulkWriteResult;
+import com.testing.base.dto.EmployeeDto;
+import com.testing.base.entity.Employee;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.Collection;
+import java.util.List;
+
+//Queries that need options the derived query methods can't express, implemented with ReactiveMongoTemplate.
+//Reads return EmployeeDto decoded straight from the documents by EmployeeDtoReadingConverter, without an Employee in between.
+public interface EmployeeRepositoryCustom {
+    Flux<EmployeeDto> findAllAsDto();
+    Mono<EmployeeDto> findByIdAsDto(String id);
+    Flux<EmployeeDto> findAllByIdAsDto(Collection<String> ids);
+    //Keyset pagination over _id: a range scan on the _id index, so page 10,000 costs the same as page 1 (unlike skip/offset)
+    Flux<EmployeeDto> findPageAsDto(String afterId, int limit);
+    //All employees ordered by _id (after afterId when it is not null), fetched from the cursor batchSize documents at a time
+    Flux<EmployeeDto> streamAll(String afterId, int batchSize);
+    //Projections, only _id and the given fields are read from Mongo and decoded, the other properties stay null.
+    //With a limit the employees are ordered by _id and start after afterId, like the keyset pages.
+    Flux<EmployeeDto> findAllWithFields(Collection<String> fields, String afterId, Integer limit);
+    Mono<EmployeeDto> findByIdWithFields(String id, Collection<String> fields);
+    //Sets the non-null fields of changes on the employee in one atomic findAndModify, returning the updated employee
+    Mono<Employee> updateFields(String id, Employee changes);
+    //One unordered bulk write upserting each employee by id, or by email when it has no id, setting its non-null fields
+    Mono<BulkWriteResult> bulkUpsert(List<Employee> employees);
+    //The complete employees with one of the ids or one of the emails
+    Flux<Employee> findAllByIdOrEmail(Collection<String> ids, Collection<String> emails);
+}
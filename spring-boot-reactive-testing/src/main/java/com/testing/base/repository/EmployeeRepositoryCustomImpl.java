@@ -0,0 +1,135 @@
+package com.testing.base.repository;
+
+import com.mongodb.bulk.BulkWriteResult;
+import com.testing.base.dto.EmployeeDto;
+import com.testing.base.entity.Employee;
+import org.bson.types.ObjectId;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.ReactiveBulkOperations;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.Collection;
+import java.util.List;
+
+public class EmployeeRepositoryCustomImpl implements EmployeeRepositoryCustom {
+    private final ReactiveMongoTemplate reactiveMongoTemplate;
+
+    public EmployeeRepositoryCustomImpl(ReactiveMongoTemplate reactiveMongoTemplate) {
+        this.reactiveMongoTemplate = reactiveMongoTemplate;
+    }
+
+    @Override
+    public Flux<EmployeeDto> findAllAsDto() {
+        return findAsDto(new Query());
+    }
+
+    @Override
+    public Mono<EmployeeDto> findByIdAsDto(String id) {
+        return findAsDto(Query.query(Criteria.where("_id").is(id))).next();
+    }
+
+    @Override
+    public Flux<EmployeeDto> findAllByIdAsDto(Collection<String> ids) {
+        return findAsDto(Query.query(Criteria.where("_id").in(ids)));
+    }
+
+    @Override
+    public Flux<EmployeeDto> findPageAsDto(String afterId, int limit) {
+        Query query = afterCursor(afterId);
+        query.with(Sort.by(Sort.Direction.ASC, "_id"))
+                .limit(limit);
+        return findAsDto(query);
+    }
+
+    @Override
+    public Flux<EmployeeDto> streamAll(String afterId, int batchSize) {
+        Query query = afterCursor(afterId);
+        query.with(Sort.by(Sort.Direction.ASC, "_id"))
+                .cursorBatchSize(batchSize);
+        return findAsDto(query);
+    }
+
+    @Override
+    public Flux<EmployeeDto> findAllWithFields(Collection<String> fields, String afterId, Integer limit) {
+        Query query = afterCursor(afterId);
+        if (limit != null) {
+            query.with(Sort.by(Sort.Direction.ASC, "_id"))
+                    .limit(limit);
+        }
+        query.fields().include(fields.toArray(String[]::new));
+        return findAsDto(query);
+    }
+
+    @Override
+    public Mono<EmployeeDto> findByIdWithFields(String id, Collection<String> fields) {
+        Query query = Query.query(Criteria.where("_id").is(id));
+        query.fields().include(fields.toArray(String[]::new));
+        return findAsDto(query).next();
+    }
+
+    //The document is updated in place on the server, concurrent updates of different fields don't overwrite each other
+    @Override
+    public Mono<Employee> updateFields(String id, Employee changes) {
+        Query query = Query.query(Criteria.where("_id").is(id));
+        Update update = setNonNullFields(changes);
+        if (update.getUpdateObject().isEmpty()) {
+            return reactiveMongoTemplate.findOne(query, Employee.class);
+        }
+        return reactiveMongoTemplate.findAndModify(query, update, FindAndModifyOptions.options().returnNew(true), Employee.class);
+    }
+
+    //Unordered, so the server can apply the operations in any order and one failing operation doesn't stop the rest
+    @Override
+    public Mono<BulkWriteResult> bulkUpsert(List<Employee> employees) {
+        ReactiveBulkOperations bulkOperations = reactiveMongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, Employee.class);
+        for (Employee employee : employees) {
+            Query query = employee.getId() != null
+                    ? Query.query(Criteria.where("_id").is(employee.getId()))
+                    : Query.query(Criteria.where("email").is(employee.getEmail()));
+            bulkOperations.upsert(query, setNonNullFields(employee));
+        }
+        return bulkOperations.execute();
+    }
+
+    @Override
+    public Flux<Employee> findAllByIdOrEmail(Collection<String> ids, Collection<String> emails) {
+        Query query = Query.query(new Criteria().orOperator(Criteria.where("_id").in(ids), Criteria.where("email").in(emails)));
+        return reactiveMongoTemplate.find(query, Employee.class);
+    }
+
+    //Ids are stored as ObjectIds but cursors come in as their hex string. The QueryMapper converts the value of is/in but not of gt,
+    //and a string never sorts after an ObjectId in BSON, so an unconverted cursor would match nothing
+    private static Query afterCursor(String afterId) {
+        if (afterId == null) {
+            return new Query();
+        }
+        Object cursor = ObjectId.isValid(afterId) ? new ObjectId(afterId) : afterId;
+        return Query.query(Criteria.where("_id").gt(cursor));
+    }
+
+    //Reading EmployeeDto from the employees collection goes through the registered EmployeeDtoReadingConverter
+    private Flux<EmployeeDto> findAsDto(Query query) {
+        return reactiveMongoTemplate.find(query, EmployeeDto.class, reactiveMongoTemplate.getCollectionName(Employee.class));
+    }
+
+    private static Update setNonNullFields(Employee employee) {
+        Update update = new Update();
+        if (employee.getFirstName() != null) {
+            update.set("firstName", employee.getFirstName());
+        }
+        if (employee.getLastName() != null) {
+            update.set("lastName", employee.getLastName());
+        }
+        if (employee.getEmail() != null) {
+            update.set("email", employee.getEmail());
+        }
+        return update;
+    }
+}
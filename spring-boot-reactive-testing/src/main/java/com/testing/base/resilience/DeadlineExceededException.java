@@ -0,0 +1,12 @@
+package com.testing.base.resilience;
+
+import java.util.concurrent.TimeoutException;
+
+//The deadline the client sent with the request has passed, unlike a plain TimeoutException retrying can't help
+public class DeadlineExceededException extends TimeoutException {
+    private static final long serialVersionUID = 1L;
+
+    public DeadlineExceededException(String operation) {
+        super("Request deadline exceeded during " + operation);
+    }
+}
@@ -0,0 +1,23 @@
+package com.testing.base.resilience;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "employees.deadlines")
+public class EmployeeDeadlineProperties {
+    //Time an EmployeeService operation may spend on Mongo, per attempt, when it has no entry in operations
+    private Duration defaultTimeout = Duration.ofSeconds(2);
+    //By EmployeeService method name, e.g. employees.deadlines.operations[bulkUpsertEmployees]=30s
+    private Map<String, Duration> operations = new HashMap<>();
+
+    public Duration timeoutFor(String operation) {
+        return operations.getOrDefault(operation, defaultTimeout);
+    }
+}
@@ -0,0 +1,23 @@
+package com.testing.base.resilience;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "employees.retry")
+public class EmployeeRetryProperties {
+    //Retries of a failed read on top of the first attempt, writes are never retried
+    private int maxAttempts = 2;
+    //Exponential backoff between attempts, each delay randomized by +/- jitter (0 to 1) so retries don't line up
+    private Duration minBackoff = Duration.ofMillis(20);
+    private Duration maxBackoff = Duration.ofMillis(200);
+    private double jitter = 0.5;
+    //Retries allowed per operation, 0.1 keeps retries under 10% of the operations sent to Mongo
+    private double budgetRatio = 0.1;
+    //Retries that can be saved up while Mongo is healthy, spent by a burst of failures
+    private int budgetMaxTokens = 10;
+}
@@ -0,0 +1,161 @@
+package com.testing.base.resilience;
+
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.dao.TransientDataAccessException;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.util.context.ContextView;
+import reactor.util.retry.Retry;
+
+import java.time.Duration;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.BooleanSupplier;
+
+//Timeouts and retries of the Mongo calls behind EmployeeService. Each attempt gets the operation's timeout from
+//EmployeeDeadlineProperties, cut short by the request deadline when RequestDeadlineFilter found one, in which case
+//it fails with DeadlineExceededException. Reads that fail with a timeout or a transient error are retried with
+//jittered exponential backoff while the shared RetryBudget allows it. Writes are never retried, a write that timed
+//out may still have been applied.
+public class MongoCallPolicy {
+    private final EmployeeDeadlineProperties deadlineProperties;
+    private final EmployeeRetryProperties retryProperties;
+    private final RetryBudget retryBudget;
+
+    public MongoCallPolicy(EmployeeDeadlineProperties deadlineProperties, EmployeeRetryProperties retryProperties, RetryBudget retryBudget) {
+        this.deadlineProperties = deadlineProperties;
+        this.retryProperties = retryProperties;
+        this.retryBudget = retryBudget;
+    }
+
+    public <T> Mono<T> read(String operation, Mono<T> mono) {
+        Mono<T> attempt = timed(operation, mono);
+        return Mono.defer(() -> {
+            retryBudget.onRequest();
+            return attempt.retryWhen(retry(() -> true));
+        });
+    }
+
+    public <T> Flux<T> read(String operation, Flux<T> flux) {
+        Flux<T> attempt = timed(operation, flux);
+        return Flux.defer(() -> {
+            retryBudget.onRequest();
+            //Once elements went downstream a retry would send them again
+            AtomicBoolean emitted = new AtomicBoolean();
+            return attempt.doOnNext(element -> emitted.set(true))
+                    .retryWhen(retry(() -> !emitted.get()));
+        });
+    }
+
+    //A read shared by concurrent requests, e.g. through the cache, only gets the operation timeout: the deadline of
+    //whichever request started it must not fail the others. Each request waits for it with deadline().
+    public <T> Mono<T> sharedRead(String operation, Mono<T> mono) {
+        return read(operation, mono)
+                .contextWrite(RequestDeadline::without);
+    }
+
+    //A single attempt bounded by the operation timeout only, for work shared by requests that retry and wait on their
+    //own deadlines, e.g. a batch of lookups: the batch must not hold its slot longer than one operation may take
+    public <T> Mono<T> sharedAttempt(String operation, Mono<T> mono) {
+        return timed(operation, mono)
+                .contextWrite(RequestDeadline::without);
+    }
+
+    public <T> Mono<T> write(String operation, Mono<T> mono) {
+        Mono<T> attempt = timed(operation, mono);
+        return Mono.defer(() -> {
+            retryBudget.onRequest();
+            return attempt;
+        });
+    }
+
+    public <T> Flux<T> write(String operation, Flux<T> flux) {
+        Flux<T> attempt = timed(operation, flux);
+        return Flux.defer(() -> {
+            retryBudget.onRequest();
+            return attempt;
+        });
+    }
+
+    //Only the request deadline, for waiting on a sharedRead
+    public <T> Mono<T> deadline(String operation, Mono<T> mono) {
+        return Mono.deferContextual(context -> {
+            Long deadlineNanos = RequestDeadline.get(context);
+            if (deadlineNanos == null) {
+                return mono;
+            }
+            long remainingNanos = deadlineNanos - System.nanoTime();
+            if (remainingNanos <= 0) {
+                return Mono.<T>error(new DeadlineExceededException(operation));
+            }
+            return mono.timeout(Duration.ofNanos(remainingNanos), Mono.error(() -> new DeadlineExceededException(operation)));
+        });
+    }
+
+    private <T> Mono<T> timed(String operation, Mono<T> mono) {
+        return Mono.deferContextual(context -> {
+            AttemptDeadline deadline = attemptDeadline(operation, context);
+            if (deadline.remainingNanos() <= 0) {
+                return Mono.<T>error(deadline.exceeded(operation));
+            }
+            return mono.timeout(Duration.ofNanos(deadline.remainingNanos()), Mono.error(() -> deadline.exceeded(operation)));
+        });
+    }
+
+    //The first element has to arrive within the attempt's deadline, every further one within the operation timeout of
+    //the one before. A timer for the whole result would cut a long list off mid-body after the 200 was committed,
+    //while a cursor that keeps delivering isn't stuck.
+    private <T> Flux<T> timed(String operation, Flux<T> flux) {
+        return Flux.deferContextual(context -> {
+            AttemptDeadline deadline = attemptDeadline(operation, context);
+            if (deadline.remainingNanos() <= 0) {
+                return Flux.<T>error(deadline.exceeded(operation));
+            }
+            Duration idleTimeout = deadlineProperties.timeoutFor(operation);
+            return flux.timeout(
+                    Mono.delay(Duration.ofNanos(deadline.remainingNanos())).then(Mono.error(() -> deadline.exceeded(operation))),
+                    element -> Mono.delay(idleTimeout).then(Mono.error(() -> new TimeoutException(operation + " stalled"))));
+        });
+    }
+
+    private AttemptDeadline attemptDeadline(String operation, ContextView context) {
+        long timeoutNanos = deadlineProperties.timeoutFor(operation).toNanos();
+        Long deadlineNanos = RequestDeadline.get(context);
+        if (deadlineNanos != null) {
+            long remainingNanos = deadlineNanos - System.nanoTime();
+            if (remainingNanos < timeoutNanos) {
+                return new AttemptDeadline(remainingNanos, true);
+            }
+        }
+        return new AttemptDeadline(timeoutNanos, false);
+    }
+
+    private Retry retry(BooleanSupplier retryable) {
+        //The budget is checked last, it is only spent on errors that would otherwise be retried
+        return Retry.backoff(retryProperties.getMaxAttempts(), retryProperties.getMinBackoff())
+                .maxBackoff(retryProperties.getMaxBackoff())
+                .jitter(retryProperties.getJitter())
+                .filter(error -> retryable.getAsBoolean() && isTransient(error) && retryBudget.tryRetry())
+                //the caller sees the last failure itself rather than Reactor's RetryExhaustedException
+                .onRetryExhaustedThrow((retrySpec, retrySignal) -> retrySignal.failure());
+    }
+
+    private static boolean isTransient(Throwable error) {
+        if (error instanceof DeadlineExceededException) {
+            return false;
+        }
+        return error instanceof TimeoutException
+                || error instanceof TransientDataAccessException
+                || error instanceof DataAccessResourceFailureException;
+    }
+
+    //remainingNanos of the attempt, and whether it is the request deadline rather than the operation timeout
+    private record AttemptDeadline(long remainingNanos, boolean requestDeadline) {
+        Throwable exceeded(String operation) {
+            if (requestDeadline) {
+                return new DeadlineExceededException(operation);
+            }
+            return new TimeoutException(operation + " timed out");
+        }
+    }
+}
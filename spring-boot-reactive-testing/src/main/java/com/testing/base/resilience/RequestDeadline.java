@@ -0,0 +1,22 @@
+package com.testing.base.resilience;
+
+import reactor.util.context.Context;
+import reactor.util.context.ContextView;
+
+//The request's deadline as a System.nanoTime() value in the Reactor Context, put there by RequestDeadlineFilter
+public class RequestDeadline {
+    private static final String CONTEXT_KEY = RequestDeadline.class.getName();
+
+    public static Context with(Context context, long deadlineNanos) {
+        return context.put(CONTEXT_KEY, deadlineNanos);
+    }
+
+    public static Context without(Context context) {
+        return context.delete(CONTEXT_KEY);
+    }
+
+    //null when the request came without a deadline
+    public static Long get(ContextView context) {
+        return context.getOrDefault(CONTEXT_KEY, null);
+    }
+}
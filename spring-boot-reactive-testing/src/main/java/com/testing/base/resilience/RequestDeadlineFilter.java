@@ -0,0 +1,45 @@
+package com.testing.base.resilience;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.server.WebFilter;
+import org.springframework.web.server.WebFilterChain;
+import reactor.core.publisher.Mono;
+
+import java.util.concurrent.TimeUnit;
+
+//Propagates the caller's deadline to the Mongo calls made for the request, so no work goes on after the caller gave up.
+//X-Request-Timeout is the time the caller is willing to wait in milliseconds, X-Request-Deadline the absolute deadline
+//in epoch milliseconds, which depends on both clocks agreeing. With both the earlier one wins.
+public class RequestDeadlineFilter implements WebFilter {
+    public static final String TIMEOUT_HEADER = "X-Request-Timeout";
+    public static final String DEADLINE_HEADER = "X-Request-Deadline";
+    private static final long MAX_REMAINING_MILLIS = TimeUnit.DAYS.toMillis(1);
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, WebFilterChain chain) {
+        HttpHeaders headers = exchange.getRequest().getHeaders();
+        String timeout = headers.getFirst(TIMEOUT_HEADER);
+        String deadline = headers.getFirst(DEADLINE_HEADER);
+        if (timeout == null && deadline == null) {
+            return chain.filter(exchange);
+        }
+        long remainingMillis = Long.MAX_VALUE;
+        try {
+            if (timeout != null) {
+                remainingMillis = Long.parseLong(timeout.trim());
+            }
+            if (deadline != null) {
+                remainingMillis = Math.min(remainingMillis, Long.parseLong(deadline.trim()) - System.currentTimeMillis());
+            }
+        } catch (NumberFormatException exception) {
+            return Mono.error(new ResponseStatusException(HttpStatus.BAD_REQUEST, TIMEOUT_HEADER + " and " + DEADLINE_HEADER + " have to be milliseconds"));
+        }
+        //Anything longer than the operation timeouts makes no difference, the cap only keeps the sum from overflowing
+        long deadlineNanos = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(Math.min(remainingMillis, MAX_REMAINING_MILLIS));
+        return chain.filter(exchange)
+                .contextWrite(context -> RequestDeadline.with(context, deadlineNanos));
+    }
+}
@@ -0,0 +1,64 @@
+package com.testing.base.resilience;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+//Caps retries at a fraction of the traffic, shared by all operations: each operation deposits budgetRatio of a token,
+//each retry withdraws a whole one. When Mongo is failing everywhere the budget runs dry after a few retries and
+//failures go back to the callers right away instead of multiplying the load on a struggling database.
+public class RetryBudget implements MeterBinder {
+    //Tokens are kept in thousandths so ratios like 0.1 stay exact
+    private static final long SCALE = 1000;
+
+    private final long deposit;
+    private final long maxBalance;
+    private final AtomicLong balance;
+    private final AtomicLong retries = new AtomicLong();
+    private final AtomicLong exhausted = new AtomicLong();
+
+    public RetryBudget(EmployeeRetryProperties properties) {
+        this.deposit = Math.round(properties.getBudgetRatio() * SCALE);
+        this.maxBalance = properties.getBudgetMaxTokens() * SCALE;
+        this.balance = new AtomicLong(maxBalance);
+    }
+
+    public void onRequest() {
+        balance.accumulateAndGet(deposit, (current, added) -> Math.min(maxBalance, current + added));
+    }
+
+    public boolean tryRetry() {
+        while (true) {
+            long current = balance.get();
+            if (current < SCALE) {
+                exhausted.incrementAndGet();
+                return false;
+            }
+            if (balance.compareAndSet(current, current - SCALE)) {
+                retries.incrementAndGet();
+                return true;
+            }
+        }
+    }
+
+    public double getBalance() {
+        return (double) balance.get() / SCALE;
+    }
+
+    //employees.retry.budget, employees.retry.attempts and employees.retry.rejected
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("employees.retry.budget", this, RetryBudget::getBalance)
+                .description("Retries currently allowed by the retry budget")
+                .register(registry);
+        FunctionCounter.builder("employees.retry.attempts", retries, AtomicLong::get)
+                .description("Retries of Mongo reads")
+                .register(registry);
+        FunctionCounter.builder("employees.retry.rejected", exhausted, AtomicLong::get)
+                .description("Retries not made because the retry budget was empty")
+                .register(registry);
+    }
+}
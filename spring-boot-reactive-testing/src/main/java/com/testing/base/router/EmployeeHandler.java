@@ -0,0 +1,137 @@
+package com.testing.base.router;
+
+import com.testing.base.changes.EmployeeChangeFeed;
+import com.testing.base.controller.EmployeeQueryParameters;
+import com.testing.base.dto.EmployeeBulkResultDto;
+import com.testing.base.dto.EmployeeChangeDto;
+import com.testing.base.dto.EmployeeDto;
+import com.testing.base.exception.GlobalExceptionHandler;
+import com.testing.base.service.EmployeeService;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.codec.ServerSentEvent;
+import org.springframework.web.reactive.function.server.ServerRequest;
+import org.springframework.web.reactive.function.server.ServerResponse;
+import org.springframework.web.server.ResponseStatusException;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.concurrent.TimeoutException;
+
+//Handler functions behind EmployeeRouter, the same behaviour as EmployeeController:
+//an empty Mono answers 200 without a body, and a duplicate email 409 application/problem+json
+public class EmployeeHandler {
+    private static final ParameterizedTypeReference<ServerSentEvent<EmployeeDto>> EMPLOYEE_EVENTS = new ParameterizedTypeReference<>() {
+    };
+    private static final ParameterizedTypeReference<ServerSentEvent<EmployeeChangeDto>> EMPLOYEE_CHANGE_EVENTS = new ParameterizedTypeReference<>() {
+    };
+
+    private final EmployeeService employeeService;
+    private final EmployeeChangeFeed employeeChangeFeed;
+
+    public EmployeeHandler(EmployeeService employeeService, EmployeeChangeFeed employeeChangeFeed) {
+        this.employeeService = employeeService;
+        this.employeeChangeFeed = employeeChangeFeed;
+    }
+
+    public Mono<ServerResponse> saveEmployee(ServerRequest request) {
+        return request.bodyToMono(EmployeeDto.class)
+                .flatMap(employeeService::saveEmployee)
+                .flatMap(savedEmployee -> ServerResponse.status(HttpStatus.CREATED).bodyValue(savedEmployee))
+                .onErrorResume(DuplicateKeyException.class, exception -> conflict())
+                .onErrorResume(TimeoutException.class, exception -> timeout());
+    }
+
+    public Mono<ServerResponse> bulkUpsertEmployees(ServerRequest request) {
+        Flux<EmployeeBulkResultDto> results = employeeService.bulkUpsertEmployees(request.bodyToFlux(EmployeeDto.class));
+        return ServerResponse.ok().body(results, EmployeeBulkResultDto.class);
+    }
+
+    public Mono<ServerResponse> getEmployeeById(ServerRequest request) {
+        String employeeId = request.pathVariable("id");
+        Mono<EmployeeDto> employee = request.queryParam("fields")
+                .map(fields -> employeeService.getEmployeeById(employeeId, EmployeeQueryParameters.parseFields(fields)))
+                .orElseGet(() -> employeeService.getEmployeeById(employeeId));
+        return employee
+                .flatMap(employeeDto -> ServerResponse.ok().bodyValue(employeeDto))
+                .switchIfEmpty(ServerResponse.ok().build())
+                .onErrorResume(TimeoutException.class, exception -> timeout());
+    }
+
+    public Mono<ServerResponse> getAllEmployees(ServerRequest request) {
+        String afterId = request.queryParam("after").orElse(null);
+        Integer limit = request.queryParam("limit").map(EmployeeHandler::parseLimit).orElse(null);
+        Integer pageSize = EmployeeQueryParameters.pageSize(afterId, limit);
+        Flux<EmployeeDto> employees = request.queryParam("fields")
+                .map(fields -> employeeService.getEmployeesWithFields(EmployeeQueryParameters.parseFields(fields), afterId, pageSize))
+                .orElseGet(() -> pageSize == null
+                        ? employeeService.getAllEmployees()
+                        : employeeService.getEmployeesPage(afterId, pageSize));
+        return ServerResponse.ok().contentType(MediaType.APPLICATION_JSON).body(employees, EmployeeDto.class);
+    }
+
+    public Mono<ServerResponse> streamAllEmployees(ServerRequest request) {
+        Flux<EmployeeDto> employees = employeeService.streamAllEmployees(request.queryParam("after").orElse(null));
+        return ServerResponse.ok().contentType(MediaType.APPLICATION_NDJSON).body(employees, EmployeeDto.class);
+    }
+
+    public Mono<ServerResponse> streamAllEmployeeEvents(ServerRequest request) {
+        Flux<ServerSentEvent<EmployeeDto>> events = employeeService.streamAllEmployees(lastEventId(request))
+                .map(employeeDto -> ServerSentEvent.builder(employeeDto)
+                        .id(employeeDto.getId())
+                        .build());
+        return ServerResponse.ok().contentType(MediaType.TEXT_EVENT_STREAM).body(events, EMPLOYEE_EVENTS);
+    }
+
+    public Mono<ServerResponse> getEmployeeChanges(ServerRequest request) {
+        Flux<ServerSentEvent<EmployeeChangeDto>> events = employeeChangeFeed.changes(lastEventId(request))
+                .map(employeeChangeDto -> ServerSentEvent.builder(employeeChangeDto)
+                        .id(employeeChangeDto.getId())
+                        .event(employeeChangeDto.getType().name().toLowerCase())
+                        .build());
+        return ServerResponse.ok().contentType(MediaType.TEXT_EVENT_STREAM).body(events, EMPLOYEE_CHANGE_EVENTS);
+    }
+
+    public Mono<ServerResponse> updateEmployee(ServerRequest request) {
+        String employeeId = request.pathVariable("id");
+        return request.bodyToMono(EmployeeDto.class)
+                .flatMap(employeeDto -> employeeService.updateEmployee(employeeId, employeeDto))
+                .flatMap(updatedEmployee -> ServerResponse.ok().bodyValue(updatedEmployee))
+                .switchIfEmpty(ServerResponse.ok().build())
+                .onErrorResume(DuplicateKeyException.class, exception -> conflict())
+                .onErrorResume(TimeoutException.class, exception -> timeout());
+    }
+
+    public Mono<ServerResponse> deleteEmployeeById(ServerRequest request) {
+        return employeeService.deleteEmployeeById(request.pathVariable("id"))
+                .then(ServerResponse.noContent().build())
+                .onErrorResume(TimeoutException.class, exception -> timeout());
+    }
+
+    //A malformed limit is a 400, as with the controller's @RequestParam conversion
+    private static Integer parseLimit(String limit) {
+        try {
+            return Integer.valueOf(limit);
+        } catch (NumberFormatException exception) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "limit has to be a number");
+        }
+    }
+
+    private static String lastEventId(ServerRequest request) {
+        return request.headers().firstHeader("Last-Event-ID");
+    }
+
+    private static Mono<ServerResponse> conflict() {
+        return ServerResponse.status(HttpStatus.CONFLICT)
+                .contentType(MediaType.APPLICATION_PROBLEM_JSON)
+                .bodyValue(GlobalExceptionHandler.employeeConflict());
+    }
+
+    private static Mono<ServerResponse> timeout() {
+        return ServerResponse.status(HttpStatus.GATEWAY_TIMEOUT)
+                .contentType(MediaType.APPLICATION_PROBLEM_JSON)
+                .bodyValue(GlobalExceptionHandler.employeeTimeout());
+    }
+}
@@ -0,0 +1,50 @@
+package com.testing.base.router;
+
+import com.testing.base.changes.EmployeeChangeFeed;
+import com.testing.base.service.EmployeeService;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.reactive.function.server.RequestPredicate;
+import org.springframework.web.reactive.function.server.RequestPredicates;
+import org.springframework.web.reactive.function.server.RouterFunction;
+import org.springframework.web.reactive.function.server.RouterFunctions;
+import org.springframework.web.reactive.function.server.ServerResponse;
+
+//The functional model of /api/employees, selected with spring.profiles.active=functional in place of EmployeeController
+@Configuration
+@Profile("functional")
+public class EmployeeRouter {
+
+    @Bean
+    public EmployeeHandler employeeHandler(EmployeeService employeeService, EmployeeChangeFeed employeeChangeFeed) {
+        return new EmployeeHandler(employeeService, employeeChangeFeed);
+    }
+
+    //Routes are tried in order, so the literal paths come before /{id} and the streaming variants before the JSON list
+    @Bean
+    public RouterFunction<ServerResponse> employeeRoutes(EmployeeHandler employeeHandler) {
+        return RouterFunctions.route()
+                .path("/api/employees", builder -> builder
+                        .POST("/bulk", employeeHandler::bulkUpsertEmployees)
+                        //Like the controller's produces: streamed for */* or no Accept too, 406 rather than falling through to /{id}
+                        .GET("/changes", RequestPredicates.accept(MediaType.TEXT_EVENT_STREAM), employeeHandler::getEmployeeChanges)
+                        .GET("/changes", request -> ServerResponse.status(HttpStatus.NOT_ACCEPTABLE).build())
+                        .GET("/{id}", employeeHandler::getEmployeeById)
+                        .PUT("/{id}", employeeHandler::updateEmployee)
+                        .DELETE("/{id}", employeeHandler::deleteEmployeeById)
+                        .GET("", accepts(MediaType.APPLICATION_NDJSON), employeeHandler::streamAllEmployees)
+                        .GET("", accepts(MediaType.TEXT_EVENT_STREAM), employeeHandler::streamAllEmployeeEvents)
+                        .GET("", employeeHandler::getAllEmployees)
+                        .POST("", employeeHandler::saveEmployee))
+                .build();
+    }
+
+    //Unlike RequestPredicates.accept, Accept: */* doesn't match, so plain clients get the JSON list like with the controller
+    private static RequestPredicate accepts(MediaType mediaType) {
+        return request -> request.headers().accept().stream()
+                .anyMatch(accepted -> !accepted.isWildcardType() && accepted.isCompatibleWith(mediaType));
+    }
+}
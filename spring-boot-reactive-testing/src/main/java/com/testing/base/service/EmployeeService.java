@@ -1,13 +1,21 @@
 package com.testing.base.service;
 
+import com.testing.base.dto.EmployeeBulkResultDto;
 import com.testing.base.dto.EmployeeDto;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
+import java.util.Set;
+
 public interface EmployeeService {
     Mono<EmployeeDto> saveEmployee(EmployeeDto employeeDto);
     Mono<EmployeeDto> getEmployeeById(String employeeId);
+    Mono<EmployeeDto> getEmployeeById(String employeeId, Set<String> fields);
     Flux<EmployeeDto> getAllEmployees();
+    Flux<EmployeeDto> getEmployeesPage(String afterId, int limit);
+    Flux<EmployeeDto> getEmployeesWithFields(Set<String> fields, String afterId, Integer limit);
+    Flux<EmployeeDto> streamAllEmployees(String afterId);
     Mono<EmployeeDto> updateEmployee(String employeeId, EmployeeDto updatedEmployee);
     Mono<Void> deleteEmployeeById(String employeeId);
+    Flux<EmployeeBulkResultDto> bulkUpsertEmployees(Flux<EmployeeDto> employeeDtos);
 }
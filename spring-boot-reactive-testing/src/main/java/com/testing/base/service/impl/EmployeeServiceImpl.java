@@ -1,58 +1,270 @@
 package com.testing.base.service.impl;
 
+import com.mongodb.MongoBulkWriteException;
+import com.mongodb.bulk.BulkWriteError;
+import com.mongodb.bulk.BulkWriteResult;
+import com.mongodb.bulk.BulkWriteUpsert;
+import com.testing.base.batching.EmployeeBatchLoader;
+import com.testing.base.cache.EmployeeCache;
+import com.testing.base.changes.EmployeeChangeLog;
+import com.testing.base.coalescing.SingleFlight;
+import com.testing.base.config.EmployeeBulkProperties;
+import com.testing.base.config.EmployeeStreamingProperties;
+import com.testing.base.dto.EmployeeBulkResultDto;
 import com.testing.base.dto.EmployeeDto;
 import com.testing.base.entity.Employee;
 import com.testing.base.mapper.EmployeeMapper;
 import com.testing.base.repository.EmployeeRepository;
+import com.testing.base.resilience.MongoCallPolicy;
 import com.testing.base.service.EmployeeService;
+import io.micrometer.core.instrument.MeterRegistry;
 import lombok.AllArgsConstructor;
+import org.bson.BsonValue;
+import org.springframework.data.mongodb.BulkOperationException;
 import org.springframework.stereotype.Service;
 import reactor.core.publisher.Flux;
+import reactor.core.observability.micrometer.Micrometer;
 import reactor.core.publisher.Mono;
+import reactor.util.function.Tuple2;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
 
 @Service
 @AllArgsConstructor
 public class EmployeeServiceImpl implements EmployeeService {
+    private static final String METRICS_NAME = "employees.service";
+
     private EmployeeRepository employeeRepository;
+    private EmployeeStreamingProperties streamingProperties;
+    private EmployeeChangeLog employeeChangeLog;
+    private EmployeeBulkProperties bulkProperties;
+    private EmployeeCache employeeCache;
+    private EmployeeBatchLoader employeeBatchLoader;
+    private MeterRegistry meterRegistry;
+    private MongoCallPolicy mongoCallPolicy;
+    private final SingleFlight<String, EmployeeDto> employeeReads = new SingleFlight<>();
 
     @Override
     public Mono<EmployeeDto> saveEmployee(EmployeeDto employeeDto) {
         Employee employee = EmployeeMapper.mapToEmployee(employeeDto);
-        Mono<Employee> savedEmployee = employeeRepository.save(employee);
-        return savedEmployee.map(EmployeeMapper::mapToEmployeeDto);
+        Mono<Employee> savedEmployee = employeeRepository.save(employee)
+                .flatMap(saved -> employeeChangeLog.created(saved).thenReturn(saved));
+        return metered("saveEmployee", mongoCallPolicy.write("saveEmployee", savedEmployee)
+                .map(EmployeeMapper::mapToEmployeeDto)
+                .doOnNext(employeeCache::put));
     }
 
     @Override
     public Mono<EmployeeDto> getEmployeeById(String employeeId) {
-        Mono<Employee> employeeFoundInDatabase = employeeRepository.findById(employeeId);
-        return employeeFoundInDatabase
-                .map(EmployeeMapper::mapToEmployeeDto);
+        //The cache already shares one future per missing id, the single flight coalesces the reads it passes through
+        //when it is disabled, and the one-off reads racing a put or invalidate of the same id.
+        //What is left, lookups of different ids, is batched into $in queries.
+        //The shared load has the operation timeout and retries, each caller waits for it up to its own deadline.
+        Mono<EmployeeDto> employee = employeeCache.get(employeeId, id -> employeeReads.execute(id,
+                key -> mongoCallPolicy.sharedRead("getEmployeeById", employeeBatchLoader.load(key))));
+        return metered("getEmployeeById", mongoCallPolicy.deadline("getEmployeeById", employee));
+    }
+
+    //Straight to Mongo with a projection, the cache only holds complete employees
+    @Override
+    public Mono<EmployeeDto> getEmployeeById(String employeeId, Set<String> fields) {
+        return metered("getEmployeeByIdWithFields", mongoCallPolicy.read("getEmployeeByIdWithFields",
+                employeeRepository.findByIdWithFields(employeeId, fields)));
     }
 
     @Override
     public Flux<EmployeeDto> getAllEmployees() {
-        Flux<Employee> employeeFlux = employeeRepository.findAll();
-        return employeeFlux
-                .map(EmployeeMapper::mapToEmployeeDto)
-                .switchIfEmpty(Flux.empty());
+        return metered("getAllEmployees", mongoCallPolicy.read("getAllEmployees", employeeRepository.findAllAsDto()));
     }
 
+    //One page of employees ordered by id, starting after afterId (from the beginning when it is null)
     @Override
-    public Mono<EmployeeDto> updateEmployee(String employeeId, EmployeeDto updatedEmployee) {
-        Mono<Employee> employeeFoundInDatabase = employeeRepository.findById(employeeId)
-                .switchIfEmpty(Mono.empty());
-        return employeeFoundInDatabase.flatMap((existingEmployee) -> {
-            existingEmployee.setFirstName(updatedEmployee.getFirstName());
-            existingEmployee.setLastName(updatedEmployee.getLastName());
-            existingEmployee.setEmail(updatedEmployee.getEmail());
+    public Flux<EmployeeDto> getEmployeesPage(String afterId, int limit) {
+        return metered("getEmployeesPage", mongoCallPolicy.read("getEmployeesPage", employeeRepository.findPageAsDto(afterId, limit)));
+    }
 
-            return employeeRepository.save(existingEmployee);
-        }).map(EmployeeMapper::mapToEmployeeDto);
+    //The whole collection when limit is null, otherwise a page like getEmployeesPage, with only the given fields set
+    @Override
+    public Flux<EmployeeDto> getEmployeesWithFields(Set<String> fields, String afterId, Integer limit) {
+        return metered("getEmployeesWithFields", mongoCallPolicy.read("getEmployeesWithFields",
+                employeeRepository.findAllWithFields(fields, afterId, limit)));
+    }
+
+    //For the NDJSON/SSE endpoints, which write and flush element by element. limitRate caps the demand sent upstream,
+    //so a slow client stops the cursor from fetching the next batch instead of letting the response buffer the collection.
+    //No deadline, a stream lasts as long as the client keeps reading.
+    @Override
+    public Flux<EmployeeDto> streamAllEmployees(String afterId) {
+        int batchSize = streamingProperties.getBatchSize();
+        return metered("streamAllEmployees", employeeRepository.streamAll(afterId, batchSize)
+                .limitRate(batchSize));
+    }
+
+    @Override
+    public Mono<EmployeeDto> updateEmployee(String employeeId, EmployeeDto updatedEmployee) {
+        //One round trip: $set of the fields that were sent, empty when there is no employee with that id
+        Mono<Employee> employeeUpdatedInDatabase = employeeRepository.updateFields(employeeId, EmployeeMapper.mapToEmployee(updatedEmployee));
+        Mono<Employee> updatedEmployeeLogged = employeeUpdatedInDatabase
+                .flatMap(saved -> employeeChangeLog.updated(saved).thenReturn(saved));
+        return metered("updateEmployee", mongoCallPolicy.write("updateEmployee", updatedEmployeeLogged)
+                .map(EmployeeMapper::mapToEmployeeDto)
+                .doOnNext(employeeCache::put));
     }
 
     @Override
     public Mono<Void> deleteEmployeeById(String employeeId) {
-        return employeeRepository.deleteById(employeeId)
-                .switchIfEmpty(Mono.empty());
+        Mono<Void> deletedEmployee = employeeRepository.deleteById(employeeId)
+                .doOnSuccess(deleted -> employeeCache.invalidate(employeeId))
+                .then(employeeChangeLog.deleted(employeeId));
+        return metered("deleteEmployeeById", mongoCallPolicy.write("deleteEmployeeById", deletedEmployee));
+    }
+
+    //Results come back in request order, chunk by chunk, while later chunks are still being written
+    @Override
+    public Flux<EmployeeBulkResultDto> bulkUpsertEmployees(Flux<EmployeeDto> employeeDtos) {
+        return metered("bulkUpsertEmployees", employeeDtos
+                .index()
+                .buffer(bulkProperties.getChunkSize())
+                .flatMapSequential(this::bulkUpsertChunk, bulkProperties.getConcurrency()));
+    }
+
+    private Flux<EmployeeBulkResultDto> bulkUpsertChunk(List<Tuple2<Long, EmployeeDto>> chunk) {
+        List<EmployeeBulkResultDto> results = new ArrayList<>(chunk.size());
+        List<EmployeeBulkResultDto> writtenResults = new ArrayList<>(chunk.size());
+        List<Employee> writtenEmployees = new ArrayList<>(chunk.size());
+        for (Tuple2<Long, EmployeeDto> indexedEmployeeDto : chunk) {
+            EmployeeDto employeeDto = indexedEmployeeDto.getT2();
+            EmployeeBulkResultDto result = new EmployeeBulkResultDto(indexedEmployeeDto.getT1(), employeeDto.getId(),
+                    employeeDto.getEmail(), EmployeeBulkResultDto.Status.UPDATED, null);
+            results.add(result);
+            if (employeeDto.getId() == null && employeeDto.getEmail() == null) {
+                result.setStatus(EmployeeBulkResultDto.Status.FAILED);
+                result.setError("Either id or email is required");
+            } else if (employeeDto.getFirstName() == null && employeeDto.getLastName() == null && employeeDto.getEmail() == null) {
+                result.setStatus(EmployeeBulkResultDto.Status.FAILED);
+                result.setError("No fields to update");
+            } else {
+                writtenResults.add(result);
+                writtenEmployees.add(EmployeeMapper.mapToEmployee(employeeDto));
+            }
+        }
+        if (writtenEmployees.isEmpty()) {
+            return Flux.fromIterable(results);
+        }
+        //The timeout applies per chunk, the request deadline to the whole request
+        return mongoCallPolicy.write("bulkUpsertEmployees", employeeRepository.bulkUpsert(writtenEmployees))
+                .map(bulkWriteResult -> new BulkOutcome(bulkWriteResult, List.of()))
+                .onErrorResume(error -> {
+                    BulkOutcome bulkOutcome = BulkOutcome.of(error);
+                    return bulkOutcome == null ? Mono.error(error) : Mono.just(bulkOutcome);
+                })
+                .flatMap(bulkOutcome -> {
+                    List<Employee> createdEmployees = new ArrayList<>();
+                    List<Employee> updatedEmployees = new ArrayList<>();
+                    //operation indexes of the bulk write are positions in writtenEmployees
+                    for (BulkWriteUpsert upsert : bulkOutcome.result().getUpserts()) {
+                        EmployeeBulkResultDto result = writtenResults.get(upsert.getIndex());
+                        result.setStatus(EmployeeBulkResultDto.Status.INSERTED);
+                        result.setId(idOf(upsert.getId()));
+                    }
+                    for (BulkWriteError error : bulkOutcome.errors()) {
+                        EmployeeBulkResultDto result = writtenResults.get(error.getIndex());
+                        result.setStatus(EmployeeBulkResultDto.Status.FAILED);
+                        result.setError(error.getMessage());
+                    }
+                    for (int i = 0; i < writtenResults.size(); i++) {
+                        EmployeeBulkResultDto result = writtenResults.get(i);
+                        Employee employee = writtenEmployees.get(i);
+                        if (result.getStatus() == EmployeeBulkResultDto.Status.INSERTED) {
+                            employee.setId(result.getId());
+                            createdEmployees.add(employee);
+                        } else if (result.getStatus() == EmployeeBulkResultDto.Status.UPDATED) {
+                            updatedEmployees.add(employee);
+                        }
+                    }
+                    return logBulkUpsert(createdEmployees, updatedEmployees, writtenResults).thenReturn(results);
+                })
+                .flatMapMany(Flux::fromIterable);
+    }
+
+    //The bulk write result doesn't say which documents the updates matched, and the updates only hold the fields that were sent.
+    //The updated employees are read back in one query, by id or by email for those upserted by email, so the change log gets
+    //their complete state and the results of email matches get their id. If that read fails the writes still happened:
+    //a RESET is logged instead, feed consumers reload and the cache is cleared.
+    private Mono<Void> logBulkUpsert(List<Employee> createdEmployees, List<Employee> updatedEmployees, List<EmployeeBulkResultDto> writtenResults) {
+        if (updatedEmployees.isEmpty()) {
+            return employeeChangeLog.bulkUpserted(createdEmployees, List.of());
+        }
+        Set<String> ids = new HashSet<>();
+        Set<String> emails = new HashSet<>();
+        for (Employee employee : updatedEmployees) {
+            if (employee.getId() != null) {
+                ids.add(employee.getId());
+            } else {
+                emails.add(employee.getEmail());
+            }
+        }
+        return mongoCallPolicy.read("bulkUpsertEmployees", employeeRepository.findAllByIdOrEmail(ids, emails).collectList())
+                .map(Optional::of)
+                .onErrorReturn(Optional.empty())
+                .flatMap(updatedDocuments -> {
+                    if (updatedDocuments.isEmpty()) {
+                        employeeCache.invalidateAll();
+                        return employeeChangeLog.bulkUpserted(createdEmployees, List.of()).then(employeeChangeLog.reset());
+                    }
+                    Map<String, String> idsByEmail = new HashMap<>();
+                    for (Employee employee : updatedDocuments.get()) {
+                        employeeCache.invalidate(employee.getId());
+                        idsByEmail.put(employee.getEmail(), employee.getId());
+                    }
+                    for (EmployeeBulkResultDto result : writtenResults) {
+                        if (result.getStatus() == EmployeeBulkResultDto.Status.UPDATED && result.getId() == null) {
+                            result.setId(idsByEmail.get(result.getEmail()));
+                        }
+                    }
+                    return employeeChangeLog.bulkUpserted(createdEmployees, updatedDocuments.get());
+                });
+    }
+
+    //reactor-core-micrometer meters named employees.service.* and tagged with the operation: subscribed and requested counters,
+    //onNext.delay between elements, and flow.duration from subscription to termination tagged with
+    //status completed, completedEmpty, cancelled or error (with the exception)
+    private <T> Mono<T> metered(String operation, Mono<T> mono) {
+        return mono.name(METRICS_NAME)
+                .tag("operation", operation)
+                .tap(Micrometer.metrics(meterRegistry));
+    }
+
+    private <T> Flux<T> metered(String operation, Flux<T> flux) {
+        return flux.name(METRICS_NAME)
+                .tag("operation", operation)
+                .tap(Micrometer.metrics(meterRegistry));
+    }
+
+    private static String idOf(BsonValue id) {
+        return id.isObjectId() ? id.asObjectId().getValue().toHexString() : id.asString().getValue();
+    }
+
+    //What a bulk write did, including one that failed for some of its operations
+    private record BulkOutcome(BulkWriteResult result, List<BulkWriteError> errors) {
+        //A failed bulk write can surface as Spring's BulkOperationException, or as the driver's MongoBulkWriteException
+        //wrapped in another translated exception, e.g. DuplicateKeyException when one of the errors is a duplicate key
+        static BulkOutcome of(Throwable error) {
+            for (Throwable cause = error; cause != null; cause = cause.getCause()) {
+                if (cause instanceof BulkOperationException bulkOperationException) {
+                    return new BulkOutcome(bulkOperationException.getResult(), bulkOperationException.getErrors());
+                }
+                if (cause instanceof MongoBulkWriteException mongoBulkWriteException) {
+                    return new BulkOutcome(mongoBulkWriteException.getWriteResult(), mongoBulkWriteException.getWriteErrors());
+                }
+            }
+            return null;
+        }
     }
 }
@@ -0,0 +1,85 @@
+package com.testing.base.integration.tests;
+
+import com.testing.base.changes.EmployeeChangeFeed;
+import com.testing.base.dto.EmployeeDto;
+import com.testing.base.entity.EmployeeChange;
+import com.testing.base.service.EmployeeService;
+import org.bson.types.ObjectId;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import reactor.test.StepVerifier;
+
+import java.time.Duration;
+
+@SpringBootTest //Runs against the embedded mongod from src/test/resources/application.properties, which supports capped collections and tailable cursors
+public class EmployeeChangeFeedIntegrationTests {
+
+    @Autowired
+    private EmployeeService employeeService;
+
+    @Autowired
+    private EmployeeChangeFeed employeeChangeFeed;
+
+    @Autowired
+    private ReactiveMongoTemplate reactiveMongoTemplate;
+
+    @Test
+    public void givenResumeToken_whenSubscribeToChanges_thenReplayChangesAfterToken() {
+        //given - preconditions or setup
+        EmployeeDto first = employeeService.saveEmployee(new EmployeeDto(null, "Spring", "Boot", "Feed.Spring.Boot@gmail.com")).block();
+        EmployeeDto second = employeeService.saveEmployee(new EmployeeDto(null, "Apache", "Maven", "Feed.Apache.Maven@gmail.com")).block();
+        employeeService.updateEmployee(second.getId(), new EmployeeDto(null, "Apache", "Gradle", "Feed.Apache.Gradle@gmail.com")).block();
+        String resumeToken = changeIdOf(first.getId(), EmployeeChange.Type.CREATED);
+
+        //when - action or behaviour
+        //then - verify the result or output
+        StepVerifier.create(employeeChangeFeed.changes(resumeToken).take(2))
+                .expectNextMatches(change -> change.getType() == EmployeeChange.Type.CREATED
+                        && change.getEmployeeId().equals(second.getId()))
+                .expectNextMatches(change -> change.getType() == EmployeeChange.Type.UPDATED
+                        && change.getEmployee().getEmail().equals("Feed.Apache.Gradle@gmail.com"))
+                .expectComplete()
+                .verify(Duration.ofSeconds(10));
+    }
+
+    @Test
+    public void givenSubscriber_whenEmployeeDeleted_thenPushDeleteChange() {
+        //given - preconditions or setup
+        EmployeeDto employeeDto = employeeService.saveEmployee(new EmployeeDto(null, "Reactive", "Mongo", "Feed.Reactive.Mongo@gmail.com")).block();
+        String resumeToken = changeIdOf(employeeDto.getId(), EmployeeChange.Type.CREATED);
+
+        //when - action or behaviour
+        //then - verify the result or output
+        StepVerifier.create(employeeChangeFeed.changes(resumeToken).take(1))
+                .then(() -> employeeService.deleteEmployeeById(employeeDto.getId()).block())
+                .expectNextMatches(change -> change.getType() == EmployeeChange.Type.DELETED
+                        && change.getEmployeeId().equals(employeeDto.getId())
+                        && change.getEmployee() == null)
+                .expectComplete()
+                .verify(Duration.ofSeconds(10));
+    }
+
+    @Test
+    public void givenUnknownResumeToken_whenSubscribeToChanges_thenSendReset() {
+        //given - preconditions or setup
+        String resumeToken = new ObjectId().toHexString();
+
+        //when - action or behaviour
+        //then - verify the result or output
+        StepVerifier.create(employeeChangeFeed.changes(resumeToken).take(1))
+                .expectNextMatches(change -> change.getType() == EmployeeChange.Type.RESET)
+                .expectComplete()
+                .verify(Duration.ofSeconds(10));
+    }
+
+    private String changeIdOf(String employeeId, EmployeeChange.Type type) {
+        Query query = Query.query(Criteria.where("employeeId").is(employeeId).and("type").is(type));
+        return reactiveMongoTemplate.findOne(query, EmployeeChange.class)
+                .map(employeeChange -> employeeChange.getId().toHexString())
+                .block();
+    }
+}
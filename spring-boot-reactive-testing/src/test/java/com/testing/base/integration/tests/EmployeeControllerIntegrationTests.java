@@ -3,17 +3,23 @@ package com.testing.base.integration.tests;
 import com.testing.base.dto.EmployeeDto;
 import com.testing.base.repository.EmployeeRepository;
 import com.testing.base.service.EmployeeService;
+import org.bson.types.ObjectId;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.reactive.server.WebTestClient;
 import reactor.core.publisher.Mono;
 
+import java.time.Duration;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
 
 @SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT) //It will load the full application context, in order to test the complete flow from controller to repository
 //It won't start the server, we have to configure a web environment attribute
@@ -31,7 +37,7 @@ public class EmployeeControllerIntegrationTests {
     @BeforeEach
     public void before() {
         System.out.println("Before each tests, deleting records");
-        employeeRepository.deleteAll().subscribe();
+        employeeRepository.deleteAll().block(); //has to finish first, emails are unique
     }
 
     @Test
@@ -160,4 +166,186 @@ public class EmployeeControllerIntegrationTests {
                 .expectBody(Void.class)
                 .consumeWith(System.out::println);
     }
+
+    @Test
+    public void testBulkUpsertEmployees() {
+        EmployeeDto existingEmployee = employeeService.saveEmployee(new EmployeeDto(null, "Spring", "Boot", "Bulk.Spring.Boot@gmail.com")).block();
+
+        List<EmployeeDto> employeeList = new ArrayList<>();
+        employeeList.add(new EmployeeDto(null, "Apache", "Maven", "Bulk.Apache.Maven@gmail.com"));
+        employeeList.add(new EmployeeDto(null, "Spring", "Framework", "Bulk.Spring.Boot@gmail.com"));
+        employeeList.add(new EmployeeDto(null, "Nobody", null, null));
+
+        webTestClient.post()
+                .uri("/api/employees/bulk")
+                .contentType(MediaType.APPLICATION_JSON)
+                .accept(MediaType.APPLICATION_JSON)
+                .bodyValue(employeeList)
+                .exchange()
+                .expectStatus()
+                .isOk()
+                .expectBody()
+                .consumeWith(System.out::println)
+                .jsonPath("$[0].status").isEqualTo("INSERTED")
+                .jsonPath("$[0].id").isNotEmpty()
+                .jsonPath("$[1].status").isEqualTo("UPDATED")
+                .jsonPath("$[2].status").isEqualTo("FAILED");
+
+        webTestClient.get()
+                .uri("/api/employees/{id}", Collections.singletonMap("id", existingEmployee.getId()))
+                .accept(MediaType.APPLICATION_JSON)
+                .exchange()
+                .expectStatus()
+                .isOk()
+                .expectBody()
+                .jsonPath("$.lastName").isEqualTo("Framework");
+    }
+
+    @Test
+    public void testPartialUpdateEmployee() {
+        EmployeeDto savedEmployee = employeeService.saveEmployee(new EmployeeDto(null, "Spring", "Boot", "Partial.Spring.Boot@gmail.com")).block();
+
+        EmployeeDto updatedEmployee = new EmployeeDto();
+        updatedEmployee.setLastName("Framework");
+
+        webTestClient.put()
+                .uri("/api/employees/{id}", Collections.singletonMap("id", savedEmployee.getId()))
+                .contentType(MediaType.APPLICATION_JSON)
+                .accept(MediaType.APPLICATION_JSON)
+                .body(Mono.just(updatedEmployee), EmployeeDto.class)
+                .exchange()
+                .expectStatus()
+                .isOk()
+                .expectBody()
+                .consumeWith(System.out::println)
+                .jsonPath("$.firstName").isEqualTo("Spring")
+                .jsonPath("$.lastName").isEqualTo("Framework")
+                .jsonPath("$.email").isEqualTo("Partial.Spring.Boot@gmail.com");
+    }
+
+    @Test
+    public void testSaveEmployeeWithDuplicateEmail() {
+        employeeService.saveEmployee(new EmployeeDto(null, "Spring", "Boot", "Duplicate.Spring.Boot@gmail.com")).block();
+
+        EmployeeDto employeeDto = new EmployeeDto(null, "Spring", "Framework", "Duplicate.Spring.Boot@gmail.com");
+
+        webTestClient.post()
+                .uri("/api/employees")
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(Mono.just(employeeDto), EmployeeDto.class)
+                .exchange()
+                .expectStatus()
+                .isEqualTo(HttpStatus.CONFLICT)
+                .expectHeader()
+                .contentType(MediaType.APPLICATION_PROBLEM_JSON)
+                .expectBody()
+                .consumeWith(System.out::println)
+                .jsonPath("$.title").isEqualTo("Employee conflict");
+    }
+
+    @Test
+    public void testSaveAndBulkUpsertEmployeesWithoutEmail() {
+        for (String lastName : List.of("First", "Second")) {
+            webTestClient.post()
+                    .uri("/api/employees")
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .bodyValue(new EmployeeDto(null, "Nomail", lastName, null))
+                    .exchange()
+                    .expectStatus()
+                    .isCreated();
+        }
+
+        webTestClient.post()
+                .uri("/api/employees/bulk")
+                .contentType(MediaType.APPLICATION_JSON)
+                .accept(MediaType.APPLICATION_JSON)
+                .bodyValue(List.of(new EmployeeDto(new ObjectId().toHexString(), "Nomail", "Third", null),
+                        new EmployeeDto(new ObjectId().toHexString(), "Nomail", "Fourth", null)))
+                .exchange()
+                .expectStatus()
+                .isOk()
+                .expectBody()
+                .consumeWith(System.out::println)
+                .jsonPath("$[0].status").isEqualTo("INSERTED")
+                .jsonPath("$[1].status").isEqualTo("INSERTED");
+    }
+
+    @Test
+    public void testGetEmployeesPageByPage() {
+        List<String> savedIds = saveEmployees("Page", 7);
+
+        List<String> receivedIds = new ArrayList<>();
+        List<Integer> pageSizes = new ArrayList<>();
+        String afterId = null;
+        List<EmployeeDto> page;
+        do {
+            String cursor = afterId;
+            page = webTestClient.get()
+                    .uri(uriBuilder -> uriBuilder.path("/api/employees")
+                            .queryParam("limit", 3)
+                            .queryParamIfPresent("after", Optional.ofNullable(cursor))
+                            .build())
+                    .accept(MediaType.APPLICATION_JSON)
+                    .exchange()
+                    .expectStatus()
+                    .isOk()
+                    .expectBodyList(EmployeeDto.class)
+                    .returnResult()
+                    .getResponseBody();
+            page.forEach(employeeDto -> receivedIds.add(employeeDto.getId()));
+            pageSizes.add(page.size());
+            afterId = page.isEmpty() ? null : page.get(page.size() - 1).getId();
+        } while (!page.isEmpty());
+
+        assertThat(pageSizes).containsExactly(3, 3, 1, 0);
+        assertThat(receivedIds).containsExactlyElementsOf(savedIds);
+    }
+
+    @Test
+    public void testStreamEmployeeEventsResumedWithLastEventId() {
+        List<String> savedIds = saveEmployees("Stream", 5);
+
+        List<String> resumedIds = webTestClient.get()
+                .uri("/api/employees")
+                .accept(MediaType.TEXT_EVENT_STREAM)
+                .header("Last-Event-ID", savedIds.get(1))
+                .exchange()
+                .expectStatus()
+                .isOk()
+                .returnResult(EmployeeDto.class)
+                .getResponseBody()
+                .map(EmployeeDto::getId)
+                .collectList()
+                .block(Duration.ofSeconds(10));
+
+        assertThat(resumedIds).containsExactlyElementsOf(savedIds.subList(2, 5));
+    }
+
+    @Test
+    public void testGetEmployeesPageWithFields() {
+        List<String> savedIds = saveEmployees("Fields", 4);
+
+        webTestClient.get()
+                .uri("/api/employees?fields=email&limit=2&after={after}", savedIds.get(1))
+                .accept(MediaType.APPLICATION_JSON)
+                .exchange()
+                .expectStatus()
+                .isOk()
+                .expectBody()
+                .consumeWith(System.out::println)
+                .jsonPath("$.length()").isEqualTo(2)
+                .jsonPath("$[0].id").isEqualTo(savedIds.get(2))
+                .jsonPath("$[0].email").isEqualTo("Fields.Employee2@gmail.com")
+                .jsonPath("$[0].lastName").doesNotExist()
+                .jsonPath("$[1].id").isEqualTo(savedIds.get(3));
+    }
+
+    //Saved one after the other, so the generated ObjectIds are in insertion order
+    private List<String> saveEmployees(String prefix, int count) {
+        List<String> savedIds = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            savedIds.add(employeeService.saveEmployee(new EmployeeDto(null, prefix, "Employee" + i, prefix + ".Employee" + i + "@gmail.com")).block().getId());
+        }
+        return savedIds;
+    }
 }
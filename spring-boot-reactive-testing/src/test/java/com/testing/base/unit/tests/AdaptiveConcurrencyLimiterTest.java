@@ -0,0 +1,197 @@
+package com.testing.base.unit.tests;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.testing.base.limiter.AdaptiveConcurrencyLimitFilter;
+import com.testing.base.limiter.AdaptiveConcurrencyLimitProperties;
+import com.testing.base.limiter.AdaptiveConcurrencyLimiter;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import org.springframework.web.server.ResponseStatusException;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class AdaptiveConcurrencyLimiterTest {
+    private AdaptiveConcurrencyLimitProperties properties;
+    private AdaptiveConcurrencyLimiter limiter;
+
+    @BeforeEach
+    public void setup() {
+        properties = new AdaptiveConcurrencyLimitProperties();
+        properties.setInitialLimit(10);
+        limiter = new AdaptiveConcurrencyLimiter(properties);
+    }
+
+    @Test
+    public void givenLimitReached_whenTryAcquire_thenReject() {
+        //given - preconditions or setup
+        for (int i = 0; i < 10; i++) {
+            assertThat(limiter.tryAcquire()).isTrue();
+        }
+
+        //when - action or behaviour
+        boolean acquired = limiter.tryAcquire();
+
+        //then - verify the result or output
+        assertThat(acquired).isFalse();
+        assertThat(limiter.getInFlight()).isEqualTo(10);
+    }
+
+    @Test
+    public void givenSteadyLatencyUnderLoad_whenSamples_thenLimitGrows() {
+        //given - preconditions or setup
+        long rtt = TimeUnit.MILLISECONDS.toNanos(5);
+
+        //when - action or behaviour
+        for (int i = 0; i < 50; i++) {
+            limiter.tryAcquire();
+            limiter.onSuccess(rtt, limiter.getLimit());
+        }
+
+        //then - verify the result or output
+        assertThat(limiter.getLimit()).isGreaterThan(10);
+    }
+
+    @Test
+    public void givenLatencyRising_whenSamples_thenLimitShrinks() {
+        //given - preconditions or setup
+        for (int i = 0; i < 50; i++) {
+            limiter.tryAcquire();
+            limiter.onSuccess(TimeUnit.MILLISECONDS.toNanos(5), limiter.getLimit());
+        }
+        int grownLimit = limiter.getLimit();
+
+        //when - action or behaviour
+        for (int i = 0; i < 50; i++) {
+            limiter.tryAcquire();
+            limiter.onSuccess(TimeUnit.MILLISECONDS.toNanos(100), limiter.getLimit());
+        }
+
+        //then - verify the result or output
+        assertThat(limiter.getLimit()).isLessThan(grownLimit);
+        assertThat(limiter.getLimit()).isGreaterThanOrEqualTo(properties.getMinLimit());
+    }
+
+    @Test
+    public void givenDroppedRequests_whenOnDropped_thenLimitBacksOffToMinimum() {
+        //given - preconditions or setup
+        //when - action or behaviour
+        for (int i = 0; i < 100; i++) {
+            limiter.tryAcquire();
+            limiter.onDropped();
+        }
+
+        //then - verify the result or output
+        assertThat(limiter.getLimit()).isEqualTo(properties.getMinLimit());
+        assertThat(limiter.getInFlight()).isZero();
+    }
+
+    @Test
+    public void givenLimitReached_whenFilter_thenRespond503WithRetryAfter() {
+        //given - preconditions or setup
+        AdaptiveConcurrencyLimitFilter filter = new AdaptiveConcurrencyLimitFilter(limiter, properties, new ObjectMapper());
+        for (int i = 0; i < 10; i++) {
+            limiter.tryAcquire();
+        }
+        MockServerWebExchange exchange = MockServerWebExchange.from(MockServerHttpRequest.get("/api/employees/1"));
+        AtomicInteger handled = new AtomicInteger();
+
+        //when - action or behaviour
+        Mono<Void> filtered = filter.filter(exchange, e -> Mono.fromRunnable(handled::incrementAndGet));
+
+        //then - verify the result or output
+        StepVerifier.create(filtered).verifyComplete();
+        assertThat(handled.get()).isZero();
+        assertThat(exchange.getResponse().getStatusCode()).isEqualTo(HttpStatus.SERVICE_UNAVAILABLE);
+        assertThat(exchange.getResponse().getHeaders().getFirst(HttpHeaders.RETRY_AFTER)).isEqualTo("1");
+        assertThat(exchange.getResponse().getHeaders().getContentType()).isEqualTo(MediaType.APPLICATION_PROBLEM_JSON);
+    }
+
+    @Test
+    public void givenLimitReached_whenFilterStream_thenLetThrough() {
+        //given - preconditions or setup
+        AdaptiveConcurrencyLimitFilter filter = new AdaptiveConcurrencyLimitFilter(limiter, properties, new ObjectMapper());
+        for (int i = 0; i < 10; i++) {
+            limiter.tryAcquire();
+        }
+        MockServerWebExchange exchange = MockServerWebExchange.from(MockServerHttpRequest.get("/api/employees")
+                .accept(MediaType.APPLICATION_NDJSON));
+        AtomicInteger handled = new AtomicInteger();
+
+        //when - action or behaviour
+        Mono<Void> filtered = filter.filter(exchange, e -> Mono.fromRunnable(handled::incrementAndGet));
+
+        //then - verify the result or output
+        StepVerifier.create(filtered).verifyComplete();
+        assertThat(handled.get()).isEqualTo(1);
+        assertThat(limiter.getInFlight()).isEqualTo(10);
+    }
+
+    @Test
+    public void givenLimitReached_whenFilterWriteOrItemWithStreamingAccept_thenRespond503() {
+        for (MockServerHttpRequest request : List.of(
+                MockServerHttpRequest.put("/api/employees/1").accept(MediaType.TEXT_EVENT_STREAM).build(),
+                MockServerHttpRequest.post("/api/employees").accept(MediaType.APPLICATION_NDJSON).build(),
+                MockServerHttpRequest.get("/api/employees/1").accept(MediaType.TEXT_EVENT_STREAM).build())) {
+            //given - preconditions or setup
+            AdaptiveConcurrencyLimitFilter filter = new AdaptiveConcurrencyLimitFilter(limiter, properties, new ObjectMapper());
+            while (limiter.tryAcquire()) {
+                //fill the limit
+            }
+            MockServerWebExchange exchange = MockServerWebExchange.from(request);
+            AtomicInteger handled = new AtomicInteger();
+
+            //when - action or behaviour
+            Mono<Void> filtered = filter.filter(exchange, e -> Mono.fromRunnable(handled::incrementAndGet));
+
+            //then - verify the result or output
+            StepVerifier.create(filtered).verifyComplete();
+            assertThat(handled.get()).isZero();
+            assertThat(exchange.getResponse().getStatusCode()).isEqualTo(HttpStatus.SERVICE_UNAVAILABLE);
+        }
+    }
+
+    @Test
+    public void givenBadRequests_whenFilter_thenLimitUnchanged() {
+        //given - preconditions or setup
+        AdaptiveConcurrencyLimitFilter filter = new AdaptiveConcurrencyLimitFilter(limiter, properties, new ObjectMapper());
+
+        //when - action or behaviour
+        for (int i = 0; i < 50; i++) {
+            MockServerWebExchange exchange = MockServerWebExchange.from(MockServerHttpRequest.get("/api/employees?limit=abc"));
+            StepVerifier.create(filter.filter(exchange, e -> Mono.error(new ResponseStatusException(HttpStatus.BAD_REQUEST))))
+                    .expectError(ResponseStatusException.class)
+                    .verify();
+        }
+
+        //then - verify the result or output
+        assertThat(limiter.getLimit()).isEqualTo(10);
+        assertThat(limiter.getInFlight()).isZero();
+    }
+
+    @Test
+    public void givenTimeouts_whenFilter_thenLimitBacksOff() {
+        //given - preconditions or setup
+        AdaptiveConcurrencyLimitFilter filter = new AdaptiveConcurrencyLimitFilter(limiter, properties, new ObjectMapper());
+        MockServerWebExchange exchange = MockServerWebExchange.from(MockServerHttpRequest.get("/api/employees/1"));
+
+        //when - action or behaviour
+        Mono<Void> filtered = filter.filter(exchange, e -> Mono.error(new TimeoutException("getEmployeeById timed out")));
+
+        //then - verify the result or output
+        StepVerifier.create(filtered).expectError(TimeoutException.class).verify();
+        assertThat(limiter.getLimit()).isEqualTo(9);
+        assertThat(limiter.getInFlight()).isZero();
+    }
+}
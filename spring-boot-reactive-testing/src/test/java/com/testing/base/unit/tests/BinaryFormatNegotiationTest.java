@@ -0,0 +1,153 @@
+package com.testing.base.unit.tests;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.PropertyNamingStrategies;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.testing.base.changes.EmployeeChangeFeed;
+import com.testing.base.config.BinaryFormatConfig;
+import com.testing.base.controller.EmployeeController;
+import com.testing.base.dto.EmployeeBulkResultDto;
+import com.testing.base.dto.EmployeeDto;
+import com.testing.base.service.EmployeeService;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentMatchers;
+import org.mockito.BDDMockito;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.reactive.WebFluxTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.reactive.server.WebTestClient;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.io.IOException;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+//The snake case naming strategy only reaches the binary codecs through the Jackson2ObjectMapperBuilder,
+//so it shows that they use the mapper configured by spring.jackson.* and not a plain one
+@WebFluxTest(controllers = EmployeeController.class, properties = "spring.jackson.property-naming-strategy=SNAKE_CASE")
+@Import(BinaryFormatConfig.class)
+public class BinaryFormatNegotiationTest {
+    private static final MediaType CBOR = MediaType.parseMediaType("application/cbor");
+    private static final MediaType SMILE = MediaType.parseMediaType("application/x-jackson-smile");
+    private static final MediaType SMILE_STREAM = MediaType.parseMediaType("application/stream+x-jackson-smile");
+
+    @Autowired
+    private WebTestClient webTestClient;
+    @MockBean
+    private EmployeeService employeeService;
+    @MockBean
+    private EmployeeChangeFeed employeeChangeFeed;
+
+    @Test
+    public void givenCborAccepted_whenGetEmployeeById_thenReturnCborEmployee() throws IOException {
+        //given - preconditions or setup
+        BDDMockito.given(employeeService.getEmployeeById("1"))
+                .willReturn(Mono.just(new EmployeeDto("1", "Spring", "Boot", "Spring.Boot@gmail.com")));
+
+        //when - action or behaviour
+        byte[] body = webTestClient.get().uri("/api/employees/1")
+                .accept(CBOR)
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().contentType(CBOR)
+                .expectBody(byte[].class)
+                .returnResult()
+                .getResponseBody();
+
+        //then - verify the result or output
+        JsonNode employee = mapper(new CBORFactory()).readTree(body);
+        assertThat(employee.get("first_name").asText()).isEqualTo("Spring");
+    }
+
+    @Test
+    public void givenCborAndSmileAccepted_whenGetAllEmployees_thenReturnWholeList() throws IOException {
+        for (MediaType mediaType : List.of(CBOR, SMILE)) {
+            //given - preconditions or setup
+            BDDMockito.given(employeeService.getAllEmployees()).willReturn(Flux.just(
+                    new EmployeeDto("1", "Spring", "Boot", "Spring.Boot@gmail.com"),
+                    new EmployeeDto("2", "Apache", "Maven", "Apache.Maven@gmail.com")));
+
+            //when - action or behaviour
+            byte[] body = webTestClient.get().uri("/api/employees")
+                    .accept(mediaType)
+                    .exchange()
+                    .expectStatus().isOk()
+                    .expectHeader().contentType(mediaType)
+                    .expectBody(byte[].class)
+                    .returnResult()
+                    .getResponseBody();
+
+            //then - verify the result or output
+            JsonNode employees = mapper(CBOR.equals(mediaType) ? new CBORFactory() : new SmileFactory()).readTree(body);
+            assertThat(employees.size()).isEqualTo(2);
+            assertThat(employees.get(1).get("last_name").asText()).isEqualTo("Maven");
+        }
+    }
+
+    @Test
+    public void givenSmileStreamAccepted_whenGetAllEmployees_thenStreamEmployees() {
+        //given - preconditions or setup
+        BDDMockito.given(employeeService.getAllEmployees()).willReturn(Flux.just(
+                new EmployeeDto("1", "Spring", "Boot", "Spring.Boot@gmail.com"),
+                new EmployeeDto("2", "Apache", "Maven", "Apache.Maven@gmail.com")));
+
+        //when - action or behaviour
+        Flux<EmployeeDto> employees = webTestClient.get().uri("/api/employees")
+                .accept(SMILE_STREAM)
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().contentType(SMILE_STREAM)
+                .returnResult(EmployeeDto.class)
+                .getResponseBody();
+
+        //then - verify the result or output
+        StepVerifier.create(employees.map(EmployeeDto::getLastName))
+                .expectNext("Boot", "Maven")
+                .verifyComplete();
+    }
+
+    @Test
+    public void givenCborAndSmileRequests_whenSaveAndBulkUpsert_thenDecodeRequests() throws IOException {
+        //given - preconditions or setup
+        EmployeeDto employeeDto = new EmployeeDto(null, "Spring", "Boot", "Spring.Boot@gmail.com");
+        BDDMockito.given(employeeService.saveEmployee(ArgumentMatchers.any(EmployeeDto.class)))
+                .willAnswer(invocation -> Mono.just(invocation.getArgument(0)));
+        BDDMockito.given(employeeService.bulkUpsertEmployees(ArgumentMatchers.any()))
+                .willAnswer(invocation -> invocation.<Flux<EmployeeDto>>getArgument(0)
+                        .index()
+                        .map(indexed -> new EmployeeBulkResultDto(indexed.getT1(), null, indexed.getT2().getEmail(), EmployeeBulkResultDto.Status.INSERTED, null)));
+
+        //when - action or behaviour
+        WebTestClient.ResponseSpec saved = webTestClient.post().uri("/api/employees")
+                .contentType(CBOR)
+                .accept(MediaType.APPLICATION_JSON)
+                .bodyValue(mapper(new CBORFactory()).writeValueAsBytes(employeeDto))
+                .exchange();
+        WebTestClient.ResponseSpec bulkUpserted = webTestClient.post().uri("/api/employees/bulk")
+                .contentType(SMILE)
+                .accept(MediaType.APPLICATION_JSON)
+                .bodyValue(mapper(new SmileFactory()).writeValueAsBytes(List.of(employeeDto, new EmployeeDto(null, "Apache", "Maven", "Apache.Maven@gmail.com"))))
+                .exchange();
+
+        //then - verify the result or output
+        saved.expectStatus().isCreated()
+                .expectBody()
+                .jsonPath("$.first_name").isEqualTo("Spring");
+        bulkUpserted.expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.length()").isEqualTo(2)
+                .jsonPath("$[1].email").isEqualTo("Apache.Maven@gmail.com");
+    }
+
+    private static ObjectMapper mapper(JsonFactory factory) {
+        return new ObjectMapper(factory).setPropertyNamingStrategy(PropertyNamingStrategies.SNAKE_CASE);
+    }
+}
@@ -0,0 +1,32 @@
+package com.testing.base.unit.tests;
+
+import org.junit.jupiter.api.Test;
+import reactor.blockhound.BlockingOperationError;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+import reactor.test.StepVerifier;
+
+import java.time.Duration;
+
+//blockhound-junit-platform installs BlockHound for the whole test suite, this makes sure it is active
+public class BlockHoundTest {
+
+    @Test
+    public void givenNonBlockingThread_whenBlockingCall_thenFail() {
+        //given - preconditions or setup
+        Mono<Long> blocking = Mono.delay(Duration.ofMillis(1), Schedulers.parallel())
+                .doOnNext(tick -> {
+                    try {
+                        Thread.sleep(10);
+                    } catch (InterruptedException exception) {
+                        Thread.currentThread().interrupt();
+                    }
+                });
+
+        //when - action or behaviour
+        //then - verify the result or output
+        StepVerifier.create(blocking)
+                .expectErrorMatches(error -> error instanceof BlockingOperationError)
+                .verify(Duration.ofSeconds(5));
+    }
+}
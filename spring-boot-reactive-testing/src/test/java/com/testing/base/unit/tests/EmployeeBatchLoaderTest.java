@@ -0,0 +1,168 @@
+package com.testing.base.unit.tests;
+
+import com.testing.base.batching.EmployeeBatchLoader;
+import com.testing.base.batching.EmployeeBatchLoaderProperties;
+import com.testing.base.dto.EmployeeDto;
+import com.testing.base.repository.EmployeeRepository;
+import com.testing.base.resilience.EmployeeDeadlineProperties;
+import com.testing.base.resilience.EmployeeRetryProperties;
+import com.testing.base.resilience.MongoCallPolicy;
+import com.testing.base.resilience.RetryBudget;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentMatchers;
+import org.mockito.BDDMockito;
+import org.mockito.Mockito;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.scheduler.Schedulers;
+import reactor.test.StepVerifier;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class EmployeeBatchLoaderTest {
+    private EmployeeRepository employeeRepository;
+    private EmployeeBatchLoaderProperties properties;
+    private EmployeeDeadlineProperties deadlineProperties;
+    private EmployeeBatchLoader employeeBatchLoader;
+
+    @BeforeEach
+    public void setup() {
+        employeeRepository = Mockito.mock(EmployeeRepository.class);
+        properties = new EmployeeBatchLoaderProperties();
+        properties.setMaxDelay(Duration.ofMillis(50));
+        deadlineProperties = new EmployeeDeadlineProperties();
+        deadlineProperties.setDefaultTimeout(Duration.ofSeconds(5));
+        employeeBatchLoader = batchLoader();
+    }
+
+    @AfterEach
+    public void teardown() {
+        employeeBatchLoader.shutdown();
+    }
+
+    @Test
+    public void givenConcurrentLookups_whenLoad_thenQueryOnceAndRouteResults() {
+        //given - preconditions or setup
+        BDDMockito.given(employeeRepository.findAllByIdAsDto(ArgumentMatchers.anyCollection()))
+                .willReturn(Flux.just(
+                        new EmployeeDto("1", "Spring", "Boot", "Spring.Boot@gmail.com"),
+                        new EmployeeDto("2", "Apache", "Maven", "Apache.Maven@gmail.com")));
+
+        //when - action or behaviour
+        Flux<EmployeeDto> lookups = Flux.merge(
+                employeeBatchLoader.load("2"),
+                employeeBatchLoader.load("3"),
+                employeeBatchLoader.load("1"));
+
+        //then - verify the result or output
+        StepVerifier.create(lookups.map(EmployeeDto::getId).collectList())
+                .expectNextMatches(ids -> ids.size() == 2 && ids.containsAll(Set.of("1", "2")))
+                .verifyComplete();
+        BDDMockito.then(employeeRepository).should(Mockito.times(1)).findAllByIdAsDto(ArgumentMatchers.anyCollection());
+    }
+
+    @Test
+    public void givenFailingQuery_whenLoad_thenFailEveryLookupOfTheBatch() {
+        //given - preconditions or setup
+        BDDMockito.given(employeeRepository.findAllByIdAsDto(ArgumentMatchers.anyCollection()))
+                .willReturn(Flux.error(new IllegalStateException("Mongo unavailable")))
+                .willReturn(Flux.just(new EmployeeDto("1", "Spring", "Boot", "Spring.Boot@gmail.com")));
+
+        //when - action or behaviour
+        //then - verify the result or output
+        StepVerifier.create(employeeBatchLoader.load("1"))
+                .expectError(IllegalStateException.class)
+                .verify(Duration.ofSeconds(5));
+        StepVerifier.create(employeeBatchLoader.load("1").map(EmployeeDto::getEmail))
+                .expectNext("Spring.Boot@gmail.com")
+                .verifyComplete();
+    }
+
+    @Test
+    public void givenLookupsFromManyThreads_whenLoad_thenEveryLookupCompletes() {
+        //given - preconditions or setup
+        BDDMockito.given(employeeRepository.findAllByIdAsDto(ArgumentMatchers.anyCollection()))
+                .willAnswer(invocation -> Flux.fromIterable(invocation.<Collection<String>>getArgument(0))
+                        .map(id -> new EmployeeDto(id, "Spring", "Boot", id + "@gmail.com")));
+
+        //when - action or behaviour
+        Flux<String> lookups = Flux.range(0, 2_000)
+                .flatMap(i -> employeeBatchLoader.load(String.valueOf(i)).subscribeOn(Schedulers.parallel()))
+                .map(EmployeeDto::getId);
+
+        //then - verify the result or output
+        StepVerifier.create(lookups.collect(Collectors.toSet()))
+                .expectNextMatches(ids -> ids.size() == 2_000)
+                .verifyComplete();
+    }
+
+    @Test
+    public void givenStalledQuery_whenTimeout_thenFailTheBatchAndFreeItsSlot() {
+        //given - preconditions or setup
+        employeeBatchLoader.shutdown();
+        properties.setMaxConcurrentBatches(1);
+        deadlineProperties.setDefaultTimeout(Duration.ofMillis(200));
+        employeeBatchLoader = batchLoader();
+        BDDMockito.given(employeeRepository.findAllByIdAsDto(ArgumentMatchers.anyCollection()))
+                .willReturn(Flux.never())
+                .willReturn(Flux.just(new EmployeeDto("1", "Spring", "Boot", "Spring.Boot@gmail.com")));
+
+        //when - action or behaviour
+        //then - verify the result or output
+        StepVerifier.create(employeeBatchLoader.load("1"))
+                .expectError(TimeoutException.class)
+                .verify(Duration.ofSeconds(5));
+        StepVerifier.create(employeeBatchLoader.load("1").map(EmployeeDto::getEmail))
+                .expectNext("Spring.Boot@gmail.com")
+                .expectComplete()
+                .verify(Duration.ofSeconds(5));
+    }
+
+    @Test
+    public void givenAllSlotsBusyAndQueueFull_whenLoad_thenRejectWithServiceUnavailable() throws InterruptedException {
+        //given - preconditions or setup
+        employeeBatchLoader.shutdown();
+        properties.setMaxSize(1);
+        properties.setMaxConcurrentBatches(1);
+        properties.setMaxPendingLookups(2);
+        employeeBatchLoader = batchLoader();
+        CountDownLatch queryStarted = new CountDownLatch(1);
+        BDDMockito.given(employeeRepository.findAllByIdAsDto(ArgumentMatchers.anyCollection()))
+                .willAnswer(invocation -> {
+                    queryStarted.countDown();
+                    return Flux.never();
+                });
+        Disposable running = employeeBatchLoader.load("1").subscribe();
+        assertThat(queryStarted.await(5, TimeUnit.SECONDS)).isTrue();
+        List<Disposable> waiting = List.of(employeeBatchLoader.load("2").subscribe(), employeeBatchLoader.load("3").subscribe());
+
+        //when - action or behaviour
+        //then - verify the result or output
+        StepVerifier.create(employeeBatchLoader.load("4"))
+                .expectErrorMatches(error -> error instanceof ResponseStatusException responseStatusException
+                        && responseStatusException.getStatusCode() == HttpStatus.SERVICE_UNAVAILABLE)
+                .verify(Duration.ofSeconds(5));
+        running.dispose();
+        waiting.forEach(Disposable::dispose);
+    }
+
+    private EmployeeBatchLoader batchLoader() {
+        EmployeeRetryProperties retryProperties = new EmployeeRetryProperties();
+        retryProperties.setMaxAttempts(0);
+        MongoCallPolicy mongoCallPolicy = new MongoCallPolicy(deadlineProperties, retryProperties, new RetryBudget(retryProperties));
+        return new EmployeeBatchLoader(employeeRepository, properties, mongoCallPolicy);
+    }
+}
@@ -0,0 +1,75 @@
+package com.testing.base.unit.tests;
+
+import com.testing.base.cache.EmployeeCache;
+import com.testing.base.cache.EmployeeCacheProperties;
+import com.testing.base.dto.EmployeeDto;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class EmployeeCacheTest {
+    private EmployeeCache employeeCache;
+    private AtomicInteger loads;
+
+    @BeforeEach
+    public void setup() {
+        employeeCache = new EmployeeCache(new EmployeeCacheProperties());
+        loads = new AtomicInteger();
+    }
+
+    @Test
+    public void givenCachedEmployee_whenGet_thenLoadOnlyOnce() {
+        //given - preconditions or setup
+        EmployeeDto employeeDto = new EmployeeDto("1", "Spring", "Boot", "Spring.Boot@gmail.com");
+        StepVerifier.create(employeeCache.get("1", id -> load(employeeDto))).expectNext(employeeDto).verifyComplete();
+
+        //when - action or behaviour
+        Mono<EmployeeDto> cached = employeeCache.get("1", id -> load(employeeDto));
+
+        //then - verify the result or output
+        StepVerifier.create(cached).expectNext(employeeDto).verifyComplete();
+        assertThat(loads.get()).isEqualTo(1);
+    }
+
+    @Test
+    public void givenMissingEmployee_whenGet_thenEmptyIsNotCached() {
+        //given - preconditions or setup
+        StepVerifier.create(employeeCache.get("1", id -> load(null))).verifyComplete();
+
+        //when - action or behaviour
+        Mono<EmployeeDto> retried = employeeCache.get("1", id -> load(null));
+
+        //then - verify the result or output
+        StepVerifier.create(retried).verifyComplete();
+        assertThat(loads.get()).isEqualTo(2);
+    }
+
+    @Test
+    public void givenCachedEmployee_whenInvalidateOrPut_thenNextGetSeesChange() {
+        //given - preconditions or setup
+        EmployeeDto employeeDto = new EmployeeDto("1", "Spring", "Boot", "Spring.Boot@gmail.com");
+        EmployeeDto updatedEmployeeDto = new EmployeeDto("1", "Apache", "Maven", "Apache.Maven@gmail.com");
+        employeeCache.get("1", id -> load(employeeDto)).block();
+
+        //when - action or behaviour
+        employeeCache.put(updatedEmployeeDto);
+
+        //then - verify the result or output
+        StepVerifier.create(employeeCache.get("1", id -> load(employeeDto))).expectNext(updatedEmployeeDto).verifyComplete();
+        employeeCache.invalidate("1");
+        StepVerifier.create(employeeCache.get("1", id -> load(employeeDto))).expectNext(employeeDto).verifyComplete();
+        assertThat(loads.get()).isEqualTo(2);
+    }
+
+    private Mono<EmployeeDto> load(EmployeeDto employeeDto) {
+        return Mono.fromSupplier(() -> {
+            loads.incrementAndGet();
+            return employeeDto;
+        });
+    }
+}
@@ -0,0 +1,128 @@
+package com.testing.base.unit.tests;
+
+import com.mongodb.MongoCommandException;
+import com.mongodb.ServerAddress;
+import com.testing.base.changes.EmployeeChangeFeed;
+import com.testing.base.changes.EmployeeChangeFeedProperties;
+import com.testing.base.entity.EmployeeChange;
+import org.bson.BsonDocument;
+import org.bson.BsonInt32;
+import org.bson.BsonString;
+import org.bson.types.ObjectId;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentMatchers;
+import org.mockito.BDDMockito;
+import org.mockito.Mockito;
+import org.springframework.data.mongodb.UncategorizedMongoDbException;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.time.Duration;
+
+//Plays the capped employee_changes collection being overwritten at the moments the feed reads it
+public class EmployeeChangeFeedTest {
+    private ReactiveMongoTemplate reactiveMongoTemplate;
+    private EmployeeChangeFeed employeeChangeFeed;
+
+    @BeforeEach
+    public void setup() {
+        reactiveMongoTemplate = Mockito.mock(ReactiveMongoTemplate.class);
+        EmployeeChangeFeedProperties properties = new EmployeeChangeFeedProperties();
+        properties.setReconnectDelay(Duration.ofMillis(10));
+        employeeChangeFeed = new EmployeeChangeFeed(reactiveMongoTemplate, properties);
+    }
+
+    @Test
+    public void givenResumeTokenEvictedAfterExistsCheck_whenSubscribeToChanges_thenSendReset() {
+        //given - preconditions or setup
+        EmployeeChange position = change(EmployeeChange.Type.UPDATED);
+        givenCursorOn(position);
+        ObjectId resumeToken = new ObjectId();
+        BDDMockito.given(reactiveMongoTemplate.exists(ArgumentMatchers.any(Query.class), ArgumentMatchers.eq(EmployeeChange.class)))
+                .willReturn(Mono.just(true));
+        //the collection overflowed between the check and the scan, the token and the changes right after it are gone
+        BDDMockito.given(reactiveMongoTemplate.find(ArgumentMatchers.any(Query.class), ArgumentMatchers.eq(EmployeeChange.class)))
+                .willReturn(Flux.just(change(EmployeeChange.Type.CREATED), position));
+
+        //when - action or behaviour
+        //then - verify the result or output
+        StepVerifier.create(employeeChangeFeed.changes(resumeToken.toHexString()).take(1))
+                .expectNextMatches(change -> change.getType() == EmployeeChange.Type.RESET)
+                .expectComplete()
+                .verify(Duration.ofSeconds(5));
+    }
+
+    @Test
+    public void givenCollectionOverwrittenUnderResumeScan_whenSubscribeToChanges_thenSendResetAfterReplayedChanges() {
+        //given - preconditions or setup
+        EmployeeChange position = change(EmployeeChange.Type.UPDATED);
+        givenCursorOn(position);
+        EmployeeChange resumeToken = change(EmployeeChange.Type.CREATED);
+        EmployeeChange replayed = change(EmployeeChange.Type.DELETED);
+        BDDMockito.given(reactiveMongoTemplate.exists(ArgumentMatchers.any(Query.class), ArgumentMatchers.eq(EmployeeChange.class)))
+                .willReturn(Mono.just(true));
+        BDDMockito.given(reactiveMongoTemplate.find(ArgumentMatchers.any(Query.class), ArgumentMatchers.eq(EmployeeChange.class)))
+                .willReturn(Flux.just(resumeToken, replayed).concatWith(Flux.error(cappedPositionLost())));
+
+        //when - action or behaviour
+        //then - verify the result or output
+        StepVerifier.create(employeeChangeFeed.changes(resumeToken.getId().toHexString()).take(2))
+                .expectNextMatches(change -> change.getId().equals(replayed.getId().toHexString()))
+                .expectNextMatches(change -> change.getType() == EmployeeChange.Type.RESET)
+                .expectComplete()
+                .verify(Duration.ofSeconds(5));
+    }
+
+    @Test
+    public void givenLastDeliveredChangeEvicted_whenCursorReopens_thenSendResetAndContinueFromNewest() {
+        //given - preconditions or setup
+        EmployeeChange position = change(EmployeeChange.Type.CREATED);
+        EmployeeChange lastDelivered = change(EmployeeChange.Type.UPDATED);
+        EmployeeChange evictionSurvivor = change(EmployeeChange.Type.CREATED);
+        EmployeeChange newest = change(EmployeeChange.Type.DELETED);
+        //the first cursor dies after lastDelivered, the collection overflows before the second one is open
+        BDDMockito.given(reactiveMongoTemplate.tail(ArgumentMatchers.any(Query.class), ArgumentMatchers.eq(EmployeeChange.class)))
+                .willReturn(Flux.just(position, lastDelivered))
+                .willReturn(Flux.just(evictionSurvivor, newest).concatWith(Flux.never()));
+        BDDMockito.given(reactiveMongoTemplate.findOne(ArgumentMatchers.any(Query.class), ArgumentMatchers.eq(EmployeeChange.class)))
+                .willReturn(Mono.just(position))
+                .willReturn(Mono.just(newest));
+        BDDMockito.given(reactiveMongoTemplate.exists(ArgumentMatchers.any(Query.class), ArgumentMatchers.eq(EmployeeChange.class)))
+                .willReturn(Mono.just(false));
+
+        //when - action or behaviour
+        //then - verify the result or output
+        StepVerifier.create(employeeChangeFeed.changes(null).take(3))
+                .expectNextMatches(change -> change.getId().equals(lastDelivered.getId().toHexString()))
+                .expectNextMatches(change -> change.getType() == EmployeeChange.Type.RESET)
+                .expectNextMatches(change -> change.getId().equals(newest.getId().toHexString()))
+                .expectComplete()
+                .verify(Duration.ofSeconds(5));
+    }
+
+    private void givenCursorOn(EmployeeChange position) {
+        BDDMockito.given(reactiveMongoTemplate.findOne(ArgumentMatchers.any(Query.class), ArgumentMatchers.eq(EmployeeChange.class)))
+                .willReturn(Mono.just(position));
+        BDDMockito.given(reactiveMongoTemplate.tail(ArgumentMatchers.any(Query.class), ArgumentMatchers.eq(EmployeeChange.class)))
+                .willReturn(Flux.just(position).concatWith(Flux.never()));
+    }
+
+    private static EmployeeChange change(EmployeeChange.Type type) {
+        return EmployeeChange.builder()
+                .id(new ObjectId())
+                .type(type)
+                .employeeId(new ObjectId().toHexString())
+                .build();
+    }
+
+    private static UncategorizedMongoDbException cappedPositionLost() {
+        BsonDocument response = new BsonDocument("ok", new BsonInt32(0))
+                .append("code", new BsonInt32(136))
+                .append("errmsg", new BsonString("CollectionScan died due to position in capped collection being deleted"));
+        return new UncategorizedMongoDbException("Query failed", new MongoCommandException(response, new ServerAddress()));
+    }
+}
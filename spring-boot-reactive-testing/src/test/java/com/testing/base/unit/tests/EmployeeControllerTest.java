@@ -1,7 +1,12 @@
 package com.testing.base.unit.tests;
 
+import com.testing.base.changes.EmployeeChangeFeed;
 import com.testing.base.controller.EmployeeController;
+import com.testing.base.dto.EmployeeBulkResultDto;
+import com.testing.base.dto.EmployeeChangeDto;
 import com.testing.base.dto.EmployeeDto;
+import com.testing.base.entity.EmployeeChange;
+import com.testing.base.resilience.DeadlineExceededException;
 import com.testing.base.service.EmployeeService;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -10,15 +15,20 @@ import org.mockito.BDDMockito;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.reactive.WebFluxTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.dao.DuplicateKeyException;
 import org.springframework.http.MediaType;
+import org.springframework.http.codec.ServerSentEvent;
 import org.springframework.test.context.junit.jupiter.SpringExtension;
 import org.springframework.test.web.reactive.server.WebTestClient;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
 
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
+import java.util.Set;
 
 @ExtendWith(SpringExtension.class) //SpringExtension integrates the Spring TestContext Framework into JUnit 5's Jupiter programming model.
 @WebFluxTest(controllers = EmployeeController.class) //In order to test spring webflux controllers we have @WebFluxTest annotation and it loads only the necessary beans that is passed to the controllers variable.
@@ -31,6 +41,9 @@ public class EmployeeControllerTest {
     @MockBean
     private EmployeeService employeeService; // We could have used the @Mock annotation here, but we want to register this bean to the application context and hence @MockBean helps with that
 
+    @MockBean
+    private EmployeeChangeFeed employeeChangeFeed;
+
     @Test
     public void givenEmployeeObject_whenSaveEmployee_thenReturnSavedEmployee() {
         //given - preconditions or setup
@@ -104,6 +117,179 @@ public class EmployeeControllerTest {
                 .consumeWith(System.out::println);
     }
 
+    @Test
+    public void givenCursorAndLimit_whenGetAllEmployees_thenReturnPageAfterCursor() {
+        //given - preconditions or setup
+        List<EmployeeDto> employeeList = getEmployeeDTOs();
+
+        BDDMockito.given(employeeService.getEmployeesPage("65a000000000000000000001", 2))
+                .willReturn(Flux.fromIterable(employeeList));
+
+        //when - action or behaviour
+        WebTestClient.ResponseSpec response = webTestClient.get().uri("/api/employees?after={after}&limit={limit}", "65a000000000000000000001", 2)
+                .accept(MediaType.APPLICATION_JSON)
+                .exchange();
+
+        //then - verify the result or output
+        response.expectStatus().isOk()
+                .expectBodyList(EmployeeDto.class)
+                .hasSize(2)
+                .consumeWith(System.out::println);
+    }
+
+    @Test
+    public void givenFieldsParameter_whenGetAllEmployees_thenReturnOnlyRequestedFields() {
+        //given - preconditions or setup
+        BDDMockito.given(employeeService.getEmployeesWithFields(Set.of("email"), null, null))
+                .willReturn(Flux.just(new EmployeeDto("1", null, null, "Spring.Boot@gmail.com")));
+
+        //when - action or behaviour
+        WebTestClient.ResponseSpec response = webTestClient.get().uri("/api/employees?fields=email")
+                .accept(MediaType.APPLICATION_JSON)
+                .exchange();
+
+        //then - verify the result or output
+        response.expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$[0].id").isEqualTo("1")
+                .jsonPath("$[0].email").isEqualTo("Spring.Boot@gmail.com")
+                .jsonPath("$[0].firstName").doesNotExist()
+                .jsonPath("$[0].lastName").doesNotExist();
+    }
+
+    @Test
+    public void givenUnknownField_whenGetEmployeeById_thenReturnBadRequest() {
+        //given - preconditions or setup
+        String employeeId = "1";
+
+        //when - action or behaviour
+        WebTestClient.ResponseSpec response = webTestClient.get().uri("/api/employees/{id}?fields=email,salary", employeeId)
+                .accept(MediaType.APPLICATION_JSON)
+                .exchange();
+
+        //then - verify the result or output
+        response.expectStatus().isBadRequest();
+        BDDMockito.then(employeeService).shouldHaveNoInteractions();
+    }
+
+    @Test
+    public void givenEmployeeList_whenStreamAllEmployeesAsNdjson_thenReturnEmployeeStream() {
+        //given - preconditions or setup
+        List<EmployeeDto> employeeList = getEmployeeDTOs();
+
+        BDDMockito.given(employeeService.streamAllEmployees(null))
+                .willReturn(Flux.fromIterable(employeeList));
+
+        //when - action or behaviour
+        Flux<EmployeeDto> response = webTestClient.get().uri("/api/employees")
+                .accept(MediaType.APPLICATION_NDJSON)
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().contentTypeCompatibleWith(MediaType.APPLICATION_NDJSON)
+                .returnResult(EmployeeDto.class)
+                .getResponseBody();
+
+        //then - verify the result or output
+        StepVerifier.create(response)
+                .expectNextMatches(employeeDto -> employeeDto.getEmail().equals("Spring.Boot@gmail.com"))
+                .expectNextMatches(employeeDto -> employeeDto.getEmail().equals("Apache.Maven@gmail.com"))
+                .verifyComplete();
+    }
+
+    @Test
+    public void givenLastEventId_whenGetEmployeeChanges_thenReturnChangesAsServerSentEvents() {
+        //given - preconditions or setup
+        EmployeeDto employeeDto = new EmployeeDto("1", "Spring", "Boot", "Spring.Boot@gmail.com");
+        EmployeeChangeDto employeeChangeDto = new EmployeeChangeDto("65a000000000000000000002", EmployeeChange.Type.UPDATED, "1", employeeDto);
+
+        BDDMockito.given(employeeChangeFeed.changes("65a000000000000000000001"))
+                .willReturn(Flux.just(employeeChangeDto));
+
+        //when - action or behaviour
+        Flux<ServerSentEvent<EmployeeChangeDto>> response = webTestClient.get().uri("/api/employees/changes")
+                .accept(MediaType.TEXT_EVENT_STREAM)
+                .header("Last-Event-ID", "65a000000000000000000001")
+                .exchange()
+                .expectStatus().isOk()
+                .returnResult(new ParameterizedTypeReference<ServerSentEvent<EmployeeChangeDto>>() {})
+                .getResponseBody();
+
+        //then - verify the result or output
+        StepVerifier.create(response)
+                .expectNextMatches(event -> "65a000000000000000000002".equals(event.id())
+                        && "updated".equals(event.event())
+                        && event.data().getEmployee().getEmail().equals("Spring.Boot@gmail.com"))
+                .verifyComplete();
+    }
+
+    @Test
+    public void givenDuplicateEmail_whenSaveEmployee_thenReturnConflictProblem() {
+        //given - preconditions or setup
+        EmployeeDto employeeDto = new EmployeeDto(null, "Spring", "Boot", "Spring.Boot@gmail.com");
+
+        BDDMockito.given(employeeService.saveEmployee(ArgumentMatchers.any(EmployeeDto.class)))
+                .willReturn(Mono.error(new DuplicateKeyException("E11000 duplicate key error collection: employees index: email")));
+
+        //when - action or behaviour
+        WebTestClient.ResponseSpec response = webTestClient.post().uri("/api/employees")
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(Mono.just(employeeDto), EmployeeDto.class)
+                .exchange();
+
+        //then - verify the result or output
+        response.expectStatus().isEqualTo(409)
+                .expectHeader().contentType(MediaType.APPLICATION_PROBLEM_JSON)
+                .expectBody()
+                .jsonPath("$.status").isEqualTo(409)
+                .jsonPath("$.title").isEqualTo("Employee conflict");
+    }
+
+    @Test
+    public void givenDeadlineExceeded_whenGetEmployeeById_thenReturnGatewayTimeoutProblem() {
+        //given - preconditions or setup
+        String employeeId = "123";
+
+        BDDMockito.given(employeeService.getEmployeeById(employeeId))
+                .willReturn(Mono.error(new DeadlineExceededException("getEmployeeById")));
+
+        //when - action or behaviour
+        WebTestClient.ResponseSpec response = webTestClient.get().uri("/api/employees/{id}", employeeId)
+                .exchange();
+
+        //then - verify the result or output
+        response.expectStatus().isEqualTo(504)
+                .expectHeader().contentType(MediaType.APPLICATION_PROBLEM_JSON)
+                .expectBody()
+                .jsonPath("$.status").isEqualTo(504)
+                .jsonPath("$.title").isEqualTo("Employee operation timed out");
+    }
+
+    @Test
+    public void givenEmployeeList_whenBulkUpsertEmployees_thenReturnResultPerEmployee() {
+        //given - preconditions or setup
+        List<EmployeeDto> employeeList = getEmployeeDTOs();
+
+        BDDMockito.given(employeeService.bulkUpsertEmployees(ArgumentMatchers.any()))
+                .willReturn(Flux.just(
+                        new EmployeeBulkResultDto(0, "1", "Spring.Boot@gmail.com", EmployeeBulkResultDto.Status.INSERTED, null),
+                        new EmployeeBulkResultDto(1, null, "Apache.Maven@gmail.com", EmployeeBulkResultDto.Status.FAILED, "E11000 duplicate key error")));
+
+        //when - action or behaviour
+        WebTestClient.ResponseSpec response = webTestClient.post().uri("/api/employees/bulk")
+                .contentType(MediaType.APPLICATION_JSON)
+                .accept(MediaType.APPLICATION_JSON)
+                .bodyValue(employeeList)
+                .exchange();
+
+        //then - verify the result or output
+        response.expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.length()").isEqualTo(2)
+                .jsonPath("$[0].status").isEqualTo("INSERTED")
+                .jsonPath("$[1].index").isEqualTo(1)
+                .jsonPath("$[1].status").isEqualTo("FAILED");
+    }
+
     @Test
     public void givenEmployeeIdAndUpdatedEmployeeObject_whenUpdateEmployee_thenReturnUpdatedEmployee() {
         //given - preconditions or setup
@@ -0,0 +1,48 @@
+package com.testing.base.unit.tests;
+
+import com.testing.base.converter.EmployeeDtoReadingConverter;
+import com.testing.base.dto.EmployeeDto;
+import org.bson.Document;
+import org.bson.types.ObjectId;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class EmployeeDtoReadingConverterTest {
+    private final EmployeeDtoReadingConverter converter = new EmployeeDtoReadingConverter();
+
+    @Test
+    public void givenEmployeeDocument_whenConvert_thenReturnEmployeeDto() {
+        //given - preconditions or setup
+        ObjectId id = new ObjectId();
+        Document document = new Document("_id", id)
+                .append("firstName", "Spring")
+                .append("lastName", "Boot")
+                .append("email", "Spring.Boot@gmail.com");
+
+        //when - action or behaviour
+        EmployeeDto employeeDto = converter.convert(document);
+
+        //then - verify the result or output
+        assertThat(employeeDto.getId()).isEqualTo(id.toHexString());
+        assertThat(employeeDto.getFirstName()).isEqualTo("Spring");
+        assertThat(employeeDto.getLastName()).isEqualTo("Boot");
+        assertThat(employeeDto.getEmail()).isEqualTo("Spring.Boot@gmail.com");
+    }
+
+    @Test
+    public void givenProjectedDocumentWithStringId_whenConvert_thenLeaveMissingFieldsNull() {
+        //given - preconditions or setup
+        Document document = new Document("_id", "123")
+                .append("email", "Spring.Boot@gmail.com");
+
+        //when - action or behaviour
+        EmployeeDto employeeDto = converter.convert(document);
+
+        //then - verify the result or output
+        assertThat(employeeDto.getId()).isEqualTo("123");
+        assertThat(employeeDto.getEmail()).isEqualTo("Spring.Boot@gmail.com");
+        assertThat(employeeDto.getFirstName()).isNull();
+        assertThat(employeeDto.getLastName()).isNull();
+    }
+}
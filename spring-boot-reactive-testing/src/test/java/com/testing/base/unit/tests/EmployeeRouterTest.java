@@ -0,0 +1,119 @@
+package com.testing.base.unit.tests;
+
+import com.testing.base.changes.EmployeeChangeFeed;
+import com.testing.base.dto.EmployeeChangeDto;
+import com.testing.base.dto.EmployeeDto;
+import com.testing.base.entity.EmployeeChange;
+import com.testing.base.router.EmployeeHandler;
+import com.testing.base.router.EmployeeRouter;
+import com.testing.base.service.EmployeeService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentMatchers;
+import org.mockito.BDDMockito;
+import org.mockito.Mockito;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.reactive.server.WebTestClient;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+//The functional routes bound without a server or application context, the service is a Mockito mock
+public class EmployeeRouterTest {
+    private EmployeeService employeeService;
+    private EmployeeChangeFeed employeeChangeFeed;
+    private WebTestClient webTestClient;
+
+    @BeforeEach
+    public void setup() {
+        employeeService = Mockito.mock(EmployeeService.class);
+        employeeChangeFeed = Mockito.mock(EmployeeChangeFeed.class);
+        EmployeeRouter employeeRouter = new EmployeeRouter();
+        EmployeeHandler employeeHandler = employeeRouter.employeeHandler(employeeService, employeeChangeFeed);
+        webTestClient = WebTestClient.bindToRouterFunction(employeeRouter.employeeRoutes(employeeHandler)).build();
+    }
+
+    @Test
+    public void givenEmployeeId_whenGetEmployeeById_thenReturnEmployee() {
+        //given - preconditions or setup
+        BDDMockito.given(employeeService.getEmployeeById("1"))
+                .willReturn(Mono.just(new EmployeeDto("1", "Spring", "Boot", "Spring.Boot@gmail.com")));
+
+        //when - action or behaviour
+        WebTestClient.ResponseSpec response = webTestClient.get().uri("/api/employees/{id}", "1")
+                .accept(MediaType.APPLICATION_JSON)
+                .exchange();
+
+        //then - verify the result or output
+        response.expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.email").isEqualTo("Spring.Boot@gmail.com");
+    }
+
+    @Test
+    public void givenAcceptHeaders_whenGetAllEmployees_thenRouteToJsonOrNdjson() {
+        //given - preconditions or setup
+        EmployeeDto employeeDto = new EmployeeDto("1", "Spring", "Boot", "Spring.Boot@gmail.com");
+        BDDMockito.given(employeeService.getAllEmployees()).willReturn(Flux.just(employeeDto));
+        BDDMockito.given(employeeService.streamAllEmployees(null)).willReturn(Flux.just(employeeDto));
+
+        //when - action or behaviour
+        //then - verify the result or output
+        webTestClient.get().uri("/api/employees")
+                .accept(MediaType.ALL)
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().contentTypeCompatibleWith(MediaType.APPLICATION_JSON)
+                .expectBody()
+                .jsonPath("$[0].id").isEqualTo("1");
+        webTestClient.get().uri("/api/employees")
+                .accept(MediaType.APPLICATION_NDJSON)
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().contentTypeCompatibleWith(MediaType.APPLICATION_NDJSON);
+    }
+
+    @Test
+    public void givenDuplicateEmail_whenSaveEmployee_thenReturnConflictProblem() {
+        //given - preconditions or setup
+        BDDMockito.given(employeeService.saveEmployee(ArgumentMatchers.any(EmployeeDto.class)))
+                .willReturn(Mono.error(new DuplicateKeyException("E11000 duplicate key error")));
+
+        //when - action or behaviour
+        WebTestClient.ResponseSpec response = webTestClient.post().uri("/api/employees")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(new EmployeeDto(null, "Spring", "Boot", "Spring.Boot@gmail.com"))
+                .exchange();
+
+        //then - verify the result or output
+        response.expectStatus().isEqualTo(409)
+                .expectHeader().contentType(MediaType.APPLICATION_PROBLEM_JSON)
+                .expectBody()
+                .jsonPath("$.title").isEqualTo("Employee conflict");
+    }
+
+    @Test
+    public void givenAnyAccept_whenGetEmployeeChanges_thenStreamChangesInsteadOfEmployeeById() {
+        //given - preconditions or setup
+        EmployeeDto employeeDto = new EmployeeDto("1", "Spring", "Boot", "Spring.Boot@gmail.com");
+        BDDMockito.given(employeeChangeFeed.changes(null))
+                .willReturn(Flux.just(new EmployeeChangeDto("65a000000000000000000002", EmployeeChange.Type.UPDATED, "1", employeeDto)));
+
+        //when - action or behaviour
+        //then - verify the result or output
+        webTestClient.get().uri("/api/employees/changes")
+                .accept(MediaType.ALL)
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().contentTypeCompatibleWith(MediaType.TEXT_EVENT_STREAM);
+        webTestClient.get().uri("/api/employees/changes")
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().contentTypeCompatibleWith(MediaType.TEXT_EVENT_STREAM);
+        webTestClient.get().uri("/api/employees/changes")
+                .accept(MediaType.APPLICATION_JSON)
+                .exchange()
+                .expectStatus().isEqualTo(406);
+        Mockito.verify(employeeService, Mockito.never()).getEmployeeById(ArgumentMatchers.anyString());
+    }
+}
@@ -0,0 +1,100 @@
+package com.testing.base.unit.tests;
+
+import com.mongodb.bulk.BulkWriteResult;
+import com.testing.base.batching.EmployeeBatchLoader;
+import com.testing.base.cache.EmployeeCache;
+import com.testing.base.changes.EmployeeChangeLog;
+import com.testing.base.config.EmployeeBulkProperties;
+import com.testing.base.config.EmployeeStreamingProperties;
+import com.testing.base.dto.EmployeeBulkResultDto;
+import com.testing.base.dto.EmployeeDto;
+import com.testing.base.entity.Employee;
+import com.testing.base.repository.EmployeeRepository;
+import com.testing.base.resilience.EmployeeDeadlineProperties;
+import com.testing.base.resilience.EmployeeRetryProperties;
+import com.testing.base.resilience.MongoCallPolicy;
+import com.testing.base.resilience.RetryBudget;
+import com.testing.base.service.impl.EmployeeServiceImpl;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentMatchers;
+import org.mockito.BDDMockito;
+import org.mockito.Mockito;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Set;
+
+public class EmployeeServiceBulkUpsertTest {
+    private EmployeeRepository employeeRepository;
+    private EmployeeChangeLog employeeChangeLog;
+    private EmployeeCache employeeCache;
+    private EmployeeServiceImpl employeeService;
+
+    @BeforeEach
+    public void setup() {
+        employeeRepository = Mockito.mock(EmployeeRepository.class);
+        employeeChangeLog = Mockito.mock(EmployeeChangeLog.class);
+        employeeCache = Mockito.mock(EmployeeCache.class);
+        EmployeeDeadlineProperties deadlineProperties = new EmployeeDeadlineProperties();
+        deadlineProperties.setDefaultTimeout(Duration.ofSeconds(1));
+        EmployeeRetryProperties retryProperties = new EmployeeRetryProperties();
+        retryProperties.setMaxAttempts(0);
+        MongoCallPolicy mongoCallPolicy = new MongoCallPolicy(deadlineProperties, retryProperties, new RetryBudget(retryProperties));
+        employeeService = new EmployeeServiceImpl(employeeRepository, new EmployeeStreamingProperties(), employeeChangeLog,
+                new EmployeeBulkProperties(), employeeCache, Mockito.mock(EmployeeBatchLoader.class), new SimpleMeterRegistry(), mongoCallPolicy);
+
+        BDDMockito.given(employeeRepository.bulkUpsert(ArgumentMatchers.anyList()))
+                .willReturn(Mono.just(BulkWriteResult.acknowledged(0, 2, 0, 2, List.of(), List.of())));
+        BDDMockito.given(employeeChangeLog.bulkUpserted(ArgumentMatchers.anyList(), ArgumentMatchers.anyList())).willReturn(Mono.empty());
+        BDDMockito.given(employeeChangeLog.reset()).willReturn(Mono.empty());
+    }
+
+    @Test
+    public void givenUpdatesByIdAndByEmail_whenBulkUpsert_thenLogCompleteEmployeesWithIds() {
+        //given - preconditions or setup
+        Employee updatedById = new Employee("1", "Apache", "Boot", "Apache.Boot@gmail.com");
+        Employee updatedByEmail = new Employee("2", "Spring", "Maven", "Spring.Boot@gmail.com");
+        BDDMockito.given(employeeRepository.findAllByIdOrEmail(Set.of("1"), Set.of("Spring.Boot@gmail.com")))
+                .willReturn(Flux.just(updatedById, updatedByEmail));
+
+        //when - action or behaviour
+        Flux<EmployeeBulkResultDto> results = employeeService.bulkUpsertEmployees(Flux.just(
+                new EmployeeDto("1", "Apache", null, null),
+                new EmployeeDto(null, null, "Maven", "Spring.Boot@gmail.com")));
+
+        //then - verify the result or output
+        StepVerifier.create(results.map(EmployeeBulkResultDto::getId))
+                .expectNext("1", "2")
+                .verifyComplete();
+        BDDMockito.then(employeeChangeLog).should().bulkUpserted(List.of(), List.of(updatedById, updatedByEmail));
+        BDDMockito.then(employeeChangeLog).should(Mockito.never()).reset();
+        BDDMockito.then(employeeCache).should().invalidate("1");
+        BDDMockito.then(employeeCache).should().invalidate("2");
+        BDDMockito.then(employeeCache).should(Mockito.never()).invalidateAll();
+    }
+
+    @Test
+    public void givenFailingReadBack_whenBulkUpsert_thenLogResetAndClearCache() {
+        //given - preconditions or setup
+        BDDMockito.given(employeeRepository.findAllByIdOrEmail(ArgumentMatchers.anyCollection(), ArgumentMatchers.anyCollection()))
+                .willReturn(Flux.error(new IllegalStateException("Mongo unavailable")));
+
+        //when - action or behaviour
+        Flux<EmployeeBulkResultDto> results = employeeService.bulkUpsertEmployees(Flux.just(
+                new EmployeeDto("1", "Apache", null, null),
+                new EmployeeDto(null, null, "Maven", "Spring.Boot@gmail.com")));
+
+        //then - verify the result or output
+        StepVerifier.create(results.map(EmployeeBulkResultDto::getStatus))
+                .expectNext(EmployeeBulkResultDto.Status.UPDATED, EmployeeBulkResultDto.Status.UPDATED)
+                .verifyComplete();
+        BDDMockito.then(employeeChangeLog).should().bulkUpserted(List.of(), List.of());
+        BDDMockito.then(employeeChangeLog).should().reset();
+        BDDMockito.then(employeeCache).should().invalidateAll();
+    }
+}
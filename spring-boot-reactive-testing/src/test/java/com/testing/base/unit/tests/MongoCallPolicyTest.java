@@ -0,0 +1,182 @@
+package com.testing.base.unit.tests;
+
+import com.testing.base.resilience.DeadlineExceededException;
+import com.testing.base.resilience.EmployeeDeadlineProperties;
+import com.testing.base.resilience.EmployeeRetryProperties;
+import com.testing.base.resilience.MongoCallPolicy;
+import com.testing.base.resilience.RequestDeadline;
+import com.testing.base.resilience.RetryBudget;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.TransientDataAccessResourceException;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class MongoCallPolicyTest {
+    private EmployeeDeadlineProperties deadlineProperties;
+    private EmployeeRetryProperties retryProperties;
+    private AtomicInteger attempts;
+
+    @BeforeEach
+    public void setup() {
+        deadlineProperties = new EmployeeDeadlineProperties();
+        deadlineProperties.setDefaultTimeout(Duration.ofMillis(100));
+        retryProperties = new EmployeeRetryProperties();
+        retryProperties.setMinBackoff(Duration.ofMillis(1));
+        retryProperties.setMaxBackoff(Duration.ofMillis(5));
+        attempts = new AtomicInteger();
+    }
+
+    @Test
+    public void givenStuckRead_whenOperationTimeoutPasses_thenRetryAndFailWithTimeout() {
+        //given - preconditions or setup
+        MongoCallPolicy mongoCallPolicy = mongoCallPolicy();
+
+        //when - action or behaviour
+        Mono<String> read = mongoCallPolicy.read("getEmployeeById", Mono.<String>never().doOnSubscribe(subscription -> attempts.incrementAndGet()));
+
+        //then - verify the result or output
+        StepVerifier.create(read)
+                .expectErrorMatches(error -> error instanceof TimeoutException && !(error instanceof DeadlineExceededException))
+                .verify(Duration.ofSeconds(5));
+        assertThat(attempts.get()).isEqualTo(1 + retryProperties.getMaxAttempts());
+    }
+
+    @Test
+    public void givenRequestDeadline_whenItPassesFirst_thenFailWithoutRetry() {
+        //given - preconditions or setup
+        MongoCallPolicy mongoCallPolicy = mongoCallPolicy();
+        long deadlineNanos = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(20);
+
+        //when - action or behaviour
+        Mono<String> read = mongoCallPolicy.read("getEmployeeById", Mono.<String>never().doOnSubscribe(subscription -> attempts.incrementAndGet()))
+                .contextWrite(context -> RequestDeadline.with(context, deadlineNanos));
+
+        //then - verify the result or output
+        StepVerifier.create(read)
+                .expectError(DeadlineExceededException.class)
+                .verify(Duration.ofSeconds(5));
+        assertThat(attempts.get()).isEqualTo(1);
+    }
+
+    @Test
+    public void givenTransientError_whenRead_thenRetryUntilSuccess() {
+        //given - preconditions or setup
+        MongoCallPolicy mongoCallPolicy = mongoCallPolicy();
+        Mono<String> flaky = Mono.defer(() -> attempts.incrementAndGet() == 1
+                ? Mono.error(new TransientDataAccessResourceException("connection reset"))
+                : Mono.just("employee"));
+
+        //when - action or behaviour
+        Mono<String> read = mongoCallPolicy.read("getEmployeeById", flaky);
+
+        //then - verify the result or output
+        StepVerifier.create(read)
+                .expectNext("employee")
+                .verifyComplete();
+        assertThat(attempts.get()).isEqualTo(2);
+    }
+
+    @Test
+    public void givenEmptyRetryBudget_whenReadFails_thenDoNotRetry() {
+        //given - preconditions or setup
+        retryProperties.setBudgetMaxTokens(0);
+        MongoCallPolicy mongoCallPolicy = mongoCallPolicy();
+        Mono<String> failing = Mono.defer(() -> {
+            attempts.incrementAndGet();
+            return Mono.error(new TransientDataAccessResourceException("connection reset"));
+        });
+
+        //when - action or behaviour
+        Mono<String> read = mongoCallPolicy.read("getEmployeeById", failing);
+
+        //then - verify the result or output
+        StepVerifier.create(read)
+                .expectError(TransientDataAccessResourceException.class)
+                .verify();
+        assertThat(attempts.get()).isEqualTo(1);
+    }
+
+    @Test
+    public void givenElementsEmitted_whenReadFails_thenDoNotRetry() {
+        //given - preconditions or setup
+        MongoCallPolicy mongoCallPolicy = mongoCallPolicy();
+        Flux<String> failing = Flux.defer(() -> {
+            attempts.incrementAndGet();
+            return Flux.concat(Flux.just("employee"), Flux.error(new TransientDataAccessResourceException("connection reset")));
+        });
+
+        //when - action or behaviour
+        Flux<String> read = mongoCallPolicy.read("getAllEmployees", failing);
+
+        //then - verify the result or output
+        StepVerifier.create(read)
+                .expectNext("employee")
+                .expectError(TransientDataAccessResourceException.class)
+                .verify();
+        assertThat(attempts.get()).isEqualTo(1);
+    }
+
+    @Test
+    public void givenSteadyStream_whenLongerThanOperationTimeout_thenCompleteWithoutTimeout() {
+        //given - preconditions or setup
+        MongoCallPolicy mongoCallPolicy = mongoCallPolicy();
+        Flux<Long> steady = Flux.interval(Duration.ofMillis(30)).take(6);
+
+        //when - action or behaviour
+        Flux<Long> read = mongoCallPolicy.read("getAllEmployees", steady);
+
+        //then - verify the result or output
+        StepVerifier.create(read)
+                .expectNextCount(6)
+                .expectComplete()
+                .verify(Duration.ofSeconds(5));
+    }
+
+    @Test
+    public void givenStreamStalledAfterFirstElement_whenOperationTimeoutPasses_thenFailWithoutRetry() {
+        //given - preconditions or setup
+        MongoCallPolicy mongoCallPolicy = mongoCallPolicy();
+        Flux<String> stalled = Flux.defer(() -> {
+            attempts.incrementAndGet();
+            return Flux.concat(Flux.just("employee"), Flux.never());
+        });
+
+        //when - action or behaviour
+        Flux<String> read = mongoCallPolicy.read("getAllEmployees", stalled);
+
+        //then - verify the result or output
+        StepVerifier.create(read)
+                .expectNext("employee")
+                .expectErrorMatches(error -> error instanceof TimeoutException && !(error instanceof DeadlineExceededException))
+                .verify(Duration.ofSeconds(5));
+        assertThat(attempts.get()).isEqualTo(1);
+    }
+
+    @Test
+    public void givenStuckWrite_whenOperationTimeoutPasses_thenFailWithoutRetry() {
+        //given - preconditions or setup
+        MongoCallPolicy mongoCallPolicy = mongoCallPolicy();
+
+        //when - action or behaviour
+        Mono<String> write = mongoCallPolicy.write("saveEmployee", Mono.<String>never().doOnSubscribe(subscription -> attempts.incrementAndGet()));
+
+        //then - verify the result or output
+        StepVerifier.create(write)
+                .expectError(TimeoutException.class)
+                .verify(Duration.ofSeconds(5));
+        assertThat(attempts.get()).isEqualTo(1);
+    }
+
+    private MongoCallPolicy mongoCallPolicy() {
+        return new MongoCallPolicy(deadlineProperties, retryProperties, new RetryBudget(retryProperties));
+    }
+}
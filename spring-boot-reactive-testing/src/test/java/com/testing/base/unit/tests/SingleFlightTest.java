@@ -0,0 +1,75 @@
+package com.testing.base.unit.tests;
+
+import com.testing.base.coalescing.SingleFlight;
+import org.junit.jupiter.api.Test;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+import reactor.test.StepVerifier;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class SingleFlightTest {
+    private final SingleFlight<String, String> singleFlight = new SingleFlight<>();
+    private final AtomicInteger loads = new AtomicInteger();
+
+    @Test
+    public void givenLoadInFlight_whenSameKeyRequestedConcurrently_thenLoadOnce() {
+        //given - preconditions or setup
+        Sinks.One<String> result = Sinks.one();
+
+        //when - action or behaviour
+        Flux<String> callers = Flux.range(0, 100)
+                .flatMap(i -> singleFlight.execute("1", key -> load(result.asMono())));
+
+        //then - verify the result or output
+        StepVerifier.create(callers)
+                .then(() -> result.tryEmitValue("Spring"))
+                .expectNextCount(100)
+                .verifyComplete();
+        assertThat(loads.get()).isEqualTo(1);
+        assertThat(singleFlight.inFlight()).isZero();
+    }
+
+    @Test
+    public void givenCompletedLoad_whenSameKeyRequestedAgain_thenLoadAgain() {
+        //given - preconditions or setup
+        singleFlight.execute("1", key -> load(Mono.just("Spring"))).block();
+
+        //when - action or behaviour
+        String reloaded = singleFlight.execute("1", key -> load(Mono.just("Apache"))).block();
+
+        //then - verify the result or output
+        assertThat(reloaded).isEqualTo("Apache");
+        assertThat(loads.get()).isEqualTo(2);
+    }
+
+    @Test
+    public void givenAllSubscribersCancelled_whenSameKeyRequestedAgain_thenStartNewLoad() {
+        //given - preconditions or setup
+        Disposable first = singleFlight.execute("1", key -> load(Mono.never())).subscribe();
+        Disposable second = singleFlight.execute("1", key -> load(Mono.never())).subscribe();
+
+        //when - action or behaviour
+        first.dispose();
+        assertThat(singleFlight.inFlight()).isEqualTo(1);
+        second.dispose();
+
+        //then - verify the result or output
+        assertThat(singleFlight.inFlight()).isZero();
+        StepVerifier.create(singleFlight.execute("1", key -> load(Mono.just("Spring"))))
+                .expectNext("Spring")
+                .verifyComplete();
+        assertThat(loads.get()).isEqualTo(2);
+    }
+
+    private Mono<String> load(Mono<String> value) {
+        return Mono.defer(() -> {
+            loads.incrementAndGet();
+            return value;
+        });
+    }
+}
@@ -0,0 +1,88 @@
+package com.testing.base.springboot.benchmark;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.testing.base.springboot.config.BinaryFormatConfig;
+import com.testing.base.springboot.model.Employee;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.autoconfigure.jackson.JacksonAutoConfiguration;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+//Encode/decode throughput of an employee list response in JSON, CBOR and Smile, with the mappers the application
+//actually uses: Spring Boot's Jackson configuration plus BinaryFormatConfig. The reactive module builds its codecs'
+//mappers from the same Jackson2ObjectMapperBuilder and serializes the same four-field shape, so this covers both.
+//Payload sizes are printed once per fork. Run with: gradle jmh
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class WireFormatBenchmark {
+    private static final TypeReference<List<Employee>> EMPLOYEE_LIST = new TypeReference<>() {
+    };
+
+    @Param({"json", "cbor", "smile"})
+    private String format;
+    @Param({"1", "1000"})
+    private int employees;
+
+    private AnnotationConfigApplicationContext context;
+    private ObjectMapper objectMapper;
+    private List<Employee> employeeList;
+    private byte[] encoded;
+
+    @Setup
+    public void setup() throws IOException {
+        context = new AnnotationConfigApplicationContext(JacksonAutoConfiguration.class, BinaryFormatConfig.class);
+        objectMapper = switch (format) {
+            case "cbor" -> context.getBean(MappingJackson2CborHttpMessageConverter.class).getObjectMapper();
+            case "smile" -> context.getBean(MappingJackson2SmileHttpMessageConverter.class).getObjectMapper();
+            default -> context.getBean(ObjectMapper.class);
+        };
+        employeeList = new ArrayList<>(employees);
+        for (long id = 1; id <= employees; id++) {
+            employeeList.add(Employee.builder()
+                    .id(id)
+                    .firstName("First" + id)
+                    .lastName("Last" + id)
+                    .email("employee" + id + "@gmail.com")
+                    .build());
+        }
+        encoded = objectMapper.writeValueAsBytes(employeeList);
+        System.out.printf("%n%s payload for %d employees: %d bytes%n", format, employees, encoded.length);
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public byte[] encode() throws IOException {
+        return objectMapper.writeValueAsBytes(employeeList);
+    }
+
+    @Benchmark
+    public List<Employee> decode() throws IOException {
+        return objectMapper.readValue(encoded, EMPLOYEE_LIST);
+    }
+}
@@ -0,0 +1,85 @@
+package com.testing.base.springboot.bloom;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+//Bloom filter over strings that can be read and updated concurrently without locks: bits live in an AtomicLongArray
+//and are only ever set, so a reader can at worst miss a bit that is being set at the same moment.
+//mightContain never returns false for a value that was put before the call started.
+public class BloomFilter {
+    private final AtomicLongArray words;
+    private final long bitCount;
+    private final int hashFunctions;
+    private final AtomicLong insertions = new AtomicLong();
+
+    private BloomFilter(long bitCount, int hashFunctions) {
+        this.words = new AtomicLongArray((int) (bitCount >>> 6));
+        this.bitCount = bitCount;
+        this.hashFunctions = hashFunctions;
+    }
+
+    //Sized for the requested false positive rate, but never larger than maxBytes (the rate degrades instead)
+    public static BloomFilter create(long expectedInsertions, double falsePositiveRate, long maxBytes) {
+        if (expectedInsertions < 1 || falsePositiveRate <= 0 || falsePositiveRate >= 1) {
+            throw new IllegalArgumentException("expectedInsertions must be positive and falsePositiveRate between 0 and 1");
+        }
+        long optimalBits = (long) Math.ceil(-expectedInsertions * Math.log(falsePositiveRate) / (Math.log(2) * Math.log(2)));
+        long maxBits = Math.min(maxBytes * Byte.SIZE, (long) Integer.MAX_VALUE * Long.SIZE);
+        long bits = Math.max(Long.SIZE, Math.min(optimalBits, maxBits));
+        bits = (bits + Long.SIZE - 1) & -Long.SIZE; //whole words
+        int hashFunctions = (int) Math.max(1, Math.min(16, Math.round((double) bits / expectedInsertions * Math.log(2))));
+        return new BloomFilter(bits, hashFunctions);
+    }
+
+    public void put(String value) {
+        long hash1 = hash(value, 0x9E3779B97F4A7C15L);
+        long hash2 = hash(value, 0xC2B2AE3D27D4EB4FL) | 1;
+        for (int i = 0; i < hashFunctions; i++) {
+            long bit = Long.remainderUnsigned(hash1 + i * hash2, bitCount);
+            int index = (int) (bit >>> 6);
+            long mask = 1L << bit;
+            long word = words.get(index);
+            while ((word & mask) == 0 && !words.compareAndSet(index, word, word | mask)) {
+                word = words.get(index);
+            }
+        }
+        insertions.incrementAndGet();
+    }
+
+    public boolean mightContain(String value) {
+        long hash1 = hash(value, 0x9E3779B97F4A7C15L);
+        long hash2 = hash(value, 0xC2B2AE3D27D4EB4FL) | 1;
+        for (int i = 0; i < hashFunctions; i++) {
+            long bit = Long.remainderUnsigned(hash1 + i * hash2, bitCount);
+            if ((words.get((int) (bit >>> 6)) & (1L << bit)) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    public long insertions() {
+        return insertions.get();
+    }
+
+    public long sizeInBytes() {
+        return bitCount / Byte.SIZE;
+    }
+
+    //(1 - e^(-kn/m))^k for the number of puts so far (repeated puts of the same value are counted again, so this is an upper bound)
+    public double expectedFalsePositiveRate() {
+        return Math.pow(1 - Math.exp(-hashFunctions * (double) insertions.get() / bitCount), hashFunctions);
+    }
+
+    //64 bit mix over the chars of the value, hashing chars directly avoids encoding the string to bytes first
+    private static long hash(String value, long seed) {
+        long hash = seed ^ value.length();
+        for (int i = 0; i < value.length(); i++) {
+            hash = (hash ^ value.charAt(i)) * 0xFF51AFD7ED558CCDL;
+            hash ^= hash >>> 29;
+        }
+        hash ^= hash >>> 33;
+        hash *= 0xC4CEB9FE1A85EC53L;
+        return hash ^ (hash >>> 33);
+    }
+}
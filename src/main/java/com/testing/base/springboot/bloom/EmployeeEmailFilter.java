@@ -0,0 +1,166 @@
+package com.testing.base.springboot.bloom;
+
+import com.testing.base.springboot.event.EmployeeChangeEvent;
+import com.testing.base.springboot.repository.EmployeeRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.text.Normalizer;
+import java.util.Locale;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+//Keeps a Bloom filter over every email in the employees table so saveEmployee can skip the findByEmail query
+//when the filter says "definitely not present". Until the first build has finished every check goes to the database.
+@Slf4j
+public class EmployeeEmailFilter {
+    private static final Pattern COMBINING_MARKS = Pattern.compile("\\p{M}+");
+
+    private final EmployeeRepository employeeRepository;
+    private final TransactionTemplate readOnlyTransaction;
+    private final EmployeeEmailFilterProperties properties;
+    private final ExecutorService rebuildExecutor;
+    private final AtomicBoolean rebuilding = new AtomicBoolean();
+    private final AtomicLong staleEntries = new AtomicLong();
+    private final Counter skippedChecks;
+    private final Counter queriedChecks;
+    private volatile BloomFilter filter;
+    private volatile Queue<String> addedDuringRebuild;
+
+    public EmployeeEmailFilter(EmployeeRepository employeeRepository, PlatformTransactionManager transactionManager,
+                               EmployeeEmailFilterProperties properties, MeterRegistry meterRegistry) {
+        this(employeeRepository, transactionManager, properties, meterRegistry, Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "employee-email-filter");
+            thread.setDaemon(true);
+            return thread;
+        }));
+    }
+
+    //Tests pass their own executor to know when a rebuild has finished
+    EmployeeEmailFilter(EmployeeRepository employeeRepository, PlatformTransactionManager transactionManager,
+                        EmployeeEmailFilterProperties properties, MeterRegistry meterRegistry, ExecutorService rebuildExecutor) {
+        this.employeeRepository = employeeRepository;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.properties = properties;
+        this.rebuildExecutor = rebuildExecutor;
+        this.skippedChecks = Counter.builder("employees.email.filter.checks").tag("result", "skipped").register(meterRegistry);
+        this.queriedChecks = Counter.builder("employees.email.filter.checks").tag("result", "queried").register(meterRegistry);
+        Gauge.builder("employees.email.filter.false.positive.rate", this, emailFilter -> {
+            BloomFilter current = emailFilter.filter;
+            return current == null ? 1.0 : current.expectedFalsePositiveRate();
+        }).register(meterRegistry);
+        Gauge.builder("employees.email.filter.size", this, emailFilter -> {
+            BloomFilter current = emailFilter.filter;
+            return current == null ? 0 : current.sizeInBytes();
+        }).baseUnit("bytes").register(meterRegistry);
+    }
+
+    //false means the email is definitely not stored, true means the database has to be asked
+    public boolean mightContain(String email) {
+        BloomFilter current = filter;
+        if (current != null && email != null && !current.mightContain(normalize(email))) {
+            skippedChecks.increment();
+            return false;
+        }
+        queriedChecks.increment();
+        return true;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        if (properties.isEnabled()) {
+            scheduleRebuild();
+        }
+    }
+
+    //Emails are added only after commit: anything committed before a rebuild starts is seen by its scan,
+    //anything added while it runs is queued and replayed into the new filter.
+    //The queue is read before the active filter and written back after the swap, so no email can fall between the two.
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onEmployeeChange(EmployeeChangeEvent event) {
+        if (event.getType() != EmployeeChangeEvent.Type.CREATED) {
+            markStale();
+        }
+        if (event.getEmployee() == null || event.getEmployee().getEmail() == null) {
+            return;
+        }
+        String email = normalize(event.getEmployee().getEmail());
+        Queue<String> pending = addedDuringRebuild;
+        if (pending != null) {
+            pending.add(email);
+        }
+        BloomFilter current = filter;
+        if (current != null) {
+            current.put(email);
+            if (current.insertions() > 2 * properties.getExpectedInsertions()) {
+                scheduleRebuild();
+            }
+        }
+    }
+
+    public void scheduleRebuild() {
+        if (rebuilding.compareAndSet(false, true)) {
+            rebuildExecutor.execute(this::rebuild);
+        }
+    }
+
+    public void shutdown() {
+        rebuildExecutor.shutdownNow();
+    }
+
+    private void rebuild() {
+        try {
+            BloomFilter current = filter;
+            long expectedInsertions = Math.max(properties.getExpectedInsertions(), current == null ? 0 : 2 * current.insertions());
+            BloomFilter fresh = BloomFilter.create(expectedInsertions, properties.getFalsePositiveRate(), properties.getMaxSize().toBytes());
+            Queue<String> pending = new ConcurrentLinkedQueue<>();
+            addedDuringRebuild = pending;
+            staleEntries.set(0);
+            readOnlyTransaction.executeWithoutResult(status -> {
+                try (Stream<String> emails = employeeRepository.streamAllEmails()) {
+                    emails.forEach(email -> fresh.put(normalize(email)));
+                }
+            });
+            filter = fresh;
+            addedDuringRebuild = null;
+            pending.forEach(fresh::put);
+            log.info("Built employee email filter with {} emails in {} bytes", fresh.insertions(), fresh.sizeInBytes());
+        } catch (RuntimeException e) {
+            //keep the previous filter (or none), checks simply keep going to the database
+            addedDuringRebuild = null;
+            log.warn("Could not build employee email filter", e);
+        } finally {
+            rebuilding.set(false);
+        }
+    }
+
+    private void markStale() {
+        BloomFilter current = filter;
+        if (current != null && staleEntries.incrementAndGet() > properties.getRebuildStaleRatio() * current.insertions()) {
+            scheduleRebuild();
+        }
+    }
+
+    //The email column uses MySQL's default utf8mb4_0900_ai_ci collation, which ignores case and accents, so the filter must
+    //treat such emails as equal: compatibility decomposition without the accents, then case folded through upper case so
+    //that e.g. the German sharp s matches ss. Folding more than the collation only adds false positives,
+    //never a wrong definite miss.
+    private static String normalize(String email) {
+        String decomposed = Normalizer.normalize(email.strip(), Normalizer.Form.NFKD);
+        return COMBINING_MARKS.matcher(decomposed).replaceAll("").toUpperCase(Locale.ROOT).toLowerCase(Locale.ROOT);
+    }
+}
@@ -0,0 +1,18 @@
+package com.testing.base.springboot.bloom;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.util.unit.DataSize;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "employees.email-filter")
+public class EmployeeEmailFilterProperties {
+    private boolean enabled = true;
+    private long expectedInsertions = 1_000_000;
+    private double falsePositiveRate = 0.01;
+    private DataSize maxSize = DataSize.ofMegabytes(64);
+    //Deletes and email changes leave stale bits behind, the filter is rebuilt once they exceed this share of the insertions
+    private double rebuildStaleRatio = 0.2;
+}
@@ -0,0 +1,166 @@
+package com.testing.base.springboot.changes;
+
+import com.testing.base.springboot.event.EmployeeChangeEvent;
+import org.springframework.http.MediaType;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+//Fans committed employee changes out to Server-Sent Events subscribers.
+//Every event gets a sequence number used as the SSE id, the last replayBufferSize events are kept so a reconnecting client
+//can resume from its Last-Event-ID, and each subscriber has a bounded queue drained on the dispatch pool,
+//so a slow client can never block the thread that committed the change.
+//SseEmitter.send blocks while the client's socket buffer is full, so the pool grows with the subscribers being drained
+//instead of being fixed: a stuck client holds only its own drain thread and never delays delivery to the others.
+//Idle threads are reclaimed, and a client that stays stuck is cut off by the container's write timeout.
+public class EmployeeChangeFeed {
+    private final EmployeeChangeFeedProperties properties;
+    private final ExecutorService dispatcher;
+    private final Object lock = new Object();
+    private final ArrayDeque<Entry> replayBuffer = new ArrayDeque<>();
+    private final Set<Subscriber> subscribers = ConcurrentHashMap.newKeySet();
+    private long sequence;
+
+    public EmployeeChangeFeed(EmployeeChangeFeedProperties properties) {
+        this(properties, Executors.newCachedThreadPool(runnable -> {
+            Thread thread = new Thread(runnable, "employee-change-feed");
+            thread.setDaemon(true);
+            return thread;
+        }));
+    }
+
+    //Tests hold the dispatch pool up to play a slow client
+    EmployeeChangeFeed(EmployeeChangeFeedProperties properties, ExecutorService dispatcher) {
+        this.properties = properties;
+        this.dispatcher = dispatcher;
+    }
+
+    //fallbackExecution covers writes made outside of a transaction, which are committed as soon as they return
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onEmployeeChange(EmployeeChangeEvent event) {
+        synchronized (lock) {
+            Entry entry = new Entry(++sequence, event);
+            replayBuffer.addLast(entry);
+            if (replayBuffer.size() > properties.getReplayBufferSize()) {
+                replayBuffer.removeFirst();
+            }
+            subscribers.forEach(subscriber -> subscriber.offer(entry));
+        }
+    }
+
+    public SseEmitter subscribe(Long lastEventId) {
+        SseEmitter emitter = new SseEmitter(properties.getEmitterTimeout().toMillis());
+        synchronized (lock) {
+            List<Entry> replay = new ArrayList<>();
+            boolean gap = false;
+            if (lastEventId != null) {
+                long oldest = replayBuffer.isEmpty() ? sequence + 1 : replayBuffer.peekFirst().id();
+                gap = lastEventId < oldest - 1 || lastEventId > sequence;
+                for (Entry entry : replayBuffer) {
+                    if (!gap && entry.id() > lastEventId) {
+                        replay.add(entry);
+                    }
+                }
+            }
+            Subscriber subscriber = new Subscriber(emitter, properties.getSubscriberQueueSize() + replay.size());
+            emitter.onCompletion(subscriber::close);
+            emitter.onTimeout(subscriber::close);
+            emitter.onError(error -> subscriber.close());
+            subscribers.add(subscriber);
+            if (gap) {
+                //the requested position fell out of the replay buffer, the client has to reload the full list
+                subscriber.offer(new Entry(sequence, null));
+            }
+            replay.forEach(subscriber::offer);
+        }
+        return emitter;
+    }
+
+    public int subscriberCount() {
+        return subscribers.size();
+    }
+
+    public void shutdown() {
+        subscribers.forEach(subscriber -> subscriber.emitter.complete());
+        dispatcher.shutdownNow();
+    }
+
+    private record Entry(long id, EmployeeChangeEvent event) {
+        SseEmitter.SseEventBuilder toSseEvent() {
+            if (event == null) {
+                return SseEmitter.event().id(String.valueOf(id)).name("reset").data("");
+            }
+            return SseEmitter.event()
+                    .id(String.valueOf(id))
+                    .name(event.getType().name().toLowerCase())
+                    .data(event, MediaType.APPLICATION_JSON);
+        }
+    }
+
+    private final class Subscriber {
+        private final SseEmitter emitter;
+        private final ArrayBlockingQueue<Entry> queue;
+        private final AtomicBoolean draining = new AtomicBoolean();
+        private volatile boolean closed;
+
+        private Subscriber(SseEmitter emitter, int capacity) {
+            this.emitter = emitter;
+            this.queue = new ArrayBlockingQueue<>(capacity);
+        }
+
+        private void offer(Entry entry) {
+            if (closed) {
+                return;
+            }
+            if (!queue.offer(entry)) {
+                if (properties.getSlowConsumerPolicy() == EmployeeChangeFeedProperties.SlowConsumerPolicy.DISCONNECT) {
+                    close();
+                    emitter.complete();
+                    return;
+                }
+                queue.poll();
+                queue.offer(entry);
+            }
+            scheduleDrain();
+        }
+
+        private void scheduleDrain() {
+            if (draining.compareAndSet(false, true)) {
+                dispatcher.execute(this::drain);
+            }
+        }
+
+        private void drain() {
+            try {
+                Entry entry;
+                while (!closed && (entry = queue.poll()) != null) {
+                    emitter.send(entry.toSseEvent());
+                }
+            } catch (IOException | IllegalStateException e) {
+                close();
+                emitter.completeWithError(e);
+            } finally {
+                draining.set(false);
+                if (!closed && !queue.isEmpty()) {
+                    scheduleDrain();
+                }
+            }
+        }
+
+        private void close() {
+            closed = true;
+            subscribers.remove(this);
+            queue.clear();
+        }
+    }
+}
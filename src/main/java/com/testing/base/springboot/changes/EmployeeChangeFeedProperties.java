@@ -0,0 +1,21 @@
+package com.testing.base.springboot.changes;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "employees.changes")
+public class EmployeeChangeFeedProperties {
+    public enum SlowConsumerPolicy { DISCONNECT, DROP_OLDEST }
+
+    //Number of most recent events kept for clients resuming with Last-Event-ID
+    private int replayBufferSize = 1000;
+    //Events queued per subscriber before the slow consumer policy kicks in
+    private int subscriberQueueSize = 256;
+    private SlowConsumerPolicy slowConsumerPolicy = SlowConsumerPolicy.DISCONNECT;
+    private Duration emitterTimeout = Duration.ofMinutes(30);
+}
@@ -0,0 +1,28 @@
+package com.testing.base.springboot.config;
+
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
+
+//Binary encodings of the same Jackson model for service-to-service callers, picked through Accept/Content-Type:
+//application/cbor and application/x-jackson-smile. Browsers and everyone else keep getting JSON.
+//Spring MVC registers CBOR and Smile converters by default when the Jackson dataformats are on the classpath, but with plain
+//mappers. Spring Boot replaces a default converter with a bean of the same class, in the same position, so these use the
+//mapper configured through spring.jackson.* like the JSON converter does.
+@Configuration
+public class BinaryFormatConfig {
+
+    @Bean
+    public MappingJackson2CborHttpMessageConverter cborHttpMessageConverter(Jackson2ObjectMapperBuilder builder) {
+        return new MappingJackson2CborHttpMessageConverter(builder.factory(new CBORFactory()).build());
+    }
+
+    @Bean
+    public MappingJackson2SmileHttpMessageConverter smileHttpMessageConverter(Jackson2ObjectMapperBuilder builder) {
+        return new MappingJackson2SmileHttpMessageConverter(builder.factory(new SmileFactory()).build());
+    }
+}
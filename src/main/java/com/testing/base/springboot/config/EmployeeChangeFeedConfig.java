@@ -0,0 +1,17 @@
+package com.testing.base.springboot.config;
+
+import com.testing.base.springboot.changes.EmployeeChangeFeed;
+import com.testing.base.springboot.changes.EmployeeChangeFeedProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@EnableConfigurationProperties(EmployeeChangeFeedProperties.class)
+public class EmployeeChangeFeedConfig {
+
+    @Bean(destroyMethod = "shutdown")
+    public EmployeeChangeFeed employeeChangeFeed(EmployeeChangeFeedProperties properties) {
+        return new EmployeeChangeFeed(properties);
+    }
+}
@@ -0,0 +1,28 @@
+package com.testing.base.springboot.config;
+
+import com.testing.base.springboot.count.EmployeeCountProperties;
+import com.testing.base.springboot.count.EmployeeCountTracker;
+import com.testing.base.springboot.repository.EmployeeRepository;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.EnableScheduling;
+import org.springframework.scheduling.annotation.SchedulingConfigurer;
+
+@Configuration
+@EnableScheduling
+@EnableConfigurationProperties(EmployeeCountProperties.class)
+public class EmployeeCountConfig {
+
+    @Bean
+    public EmployeeCountTracker employeeCountTracker(EmployeeRepository employeeRepository, JdbcTemplate jdbcTemplate, EmployeeCountProperties properties) {
+        return new EmployeeCountTracker(employeeRepository, jdbcTemplate, properties);
+    }
+
+    //Registered here rather than with @Scheduled so the interval comes from the bound EmployeeCountProperties
+    @Bean
+    public SchedulingConfigurer employeeCountReconciliation(EmployeeCountTracker employeeCountTracker, EmployeeCountProperties properties) {
+        return registrar -> registrar.addFixedDelayTask(employeeCountTracker::reconcile, properties.getReconcileInterval());
+    }
+}
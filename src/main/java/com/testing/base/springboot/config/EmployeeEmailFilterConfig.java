@@ -0,0 +1,21 @@
+package com.testing.base.springboot.config;
+
+import com.testing.base.springboot.bloom.EmployeeEmailFilter;
+import com.testing.base.springboot.bloom.EmployeeEmailFilterProperties;
+import com.testing.base.springboot.repository.EmployeeRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.transaction.PlatformTransactionManager;
+
+@Configuration
+@EnableConfigurationProperties(EmployeeEmailFilterProperties.class)
+public class EmployeeEmailFilterConfig {
+
+    @Bean(destroyMethod = "shutdown")
+    public EmployeeEmailFilter employeeEmailFilter(EmployeeRepository employeeRepository, PlatformTransactionManager transactionManager,
+                                                   EmployeeEmailFilterProperties properties, MeterRegistry meterRegistry) {
+        return new EmployeeEmailFilter(employeeRepository, transactionManager, properties, meterRegistry);
+    }
+}
@@ -0,0 +1,24 @@
+package com.testing.base.springboot.config;
+
+import com.testing.base.springboot.partitioning.EmployeePartitionSchemaInitializer;
+import com.testing.base.springboot.partitioning.EmployeePartitioningProperties;
+import jakarta.persistence.EntityManagerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+@Configuration
+@EnableConfigurationProperties(EmployeePartitioningProperties.class)
+@ConditionalOnProperty(prefix = "employees.partitioning", name = "enabled", havingValue = "true")
+public class EmployeePartitioningConfig {
+
+    //Depends on the EntityManagerFactory so that Hibernate's ddl-auto has created the employees table first
+    @Bean
+    public EmployeePartitionSchemaInitializer employeePartitionSchemaInitializer(EntityManagerFactory entityManagerFactory,
+                                                                                 JdbcTemplate jdbcTemplate,
+                                                                                 EmployeePartitioningProperties properties) {
+        return new EmployeePartitionSchemaInitializer(jdbcTemplate, properties);
+    }
+}
@@ -0,0 +1,26 @@
+package com.testing.base.springboot.config;
+
+import com.testing.base.springboot.offheap.OffHeapEmployeeStore;
+import com.testing.base.springboot.offheap.OffHeapEmployeeStoreProperties;
+import com.testing.base.springboot.offheap.OffHeapEmployeeStoreUpdater;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@EnableConfigurationProperties(OffHeapEmployeeStoreProperties.class)
+@ConditionalOnProperty(prefix = "employees.offheap", name = "enabled", havingValue = "true")
+public class OffHeapEmployeeStoreConfig {
+
+    @Bean
+    public OffHeapEmployeeStore offHeapEmployeeStore(OffHeapEmployeeStoreProperties properties) {
+        return new OffHeapEmployeeStore((int) Math.min(Integer.MAX_VALUE, properties.getArenaSize().toBytes()),
+                properties.getInitialIndexCapacity(), properties.getCompactionThreshold());
+    }
+
+    @Bean
+    public OffHeapEmployeeStoreUpdater offHeapEmployeeStoreUpdater(OffHeapEmployeeStore offHeapEmployeeStore) {
+        return new OffHeapEmployeeStoreUpdater(offHeapEmployeeStore);
+    }
+}
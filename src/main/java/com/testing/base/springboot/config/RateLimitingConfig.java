@@ -0,0 +1,42 @@
+package com.testing.base.springboot.config;
+
+import com.testing.base.springboot.ratelimit.RateLimitProperties;
+import com.testing.base.springboot.ratelimit.RateLimitingFilter;
+import com.testing.base.springboot.ratelimit.RateLimitingInterceptor;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+@Configuration
+@EnableConfigurationProperties(RateLimitProperties.class)
+@ConditionalOnProperty(prefix = "employees.rate-limit", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class RateLimitingConfig {
+
+    //Registered through FilterRegistrationBean rather than @Component so that it only guards the employee API
+    //and stays out of @WebMvcTest slices, which pick up every Filter bean.
+    @Bean
+    public FilterRegistrationBean<RateLimitingFilter> rateLimitingFilter(RateLimitProperties properties, MeterRegistry meterRegistry) {
+        FilterRegistrationBean<RateLimitingFilter> registration = new FilterRegistrationBean<>(new RateLimitingFilter(properties, meterRegistry));
+        registration.addUrlPatterns("/api/employees", "/api/employees/*");
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE + 10);
+        return registration;
+    }
+
+    //The budgets are checked in an interceptor because reads and writes are told apart by the handler method
+    @Bean
+    public WebMvcConfigurer rateLimitingInterceptorConfigurer(RateLimitProperties properties, MeterRegistry meterRegistry) {
+        RateLimitingInterceptor interceptor = new RateLimitingInterceptor(properties, meterRegistry);
+        return new WebMvcConfigurer() {
+            @Override
+            public void addInterceptors(InterceptorRegistry registry) {
+                registry.addInterceptor(interceptor).addPathPatterns("/api/employees", "/api/employees/**");
+            }
+        };
+    }
+}
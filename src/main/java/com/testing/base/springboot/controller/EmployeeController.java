@@ -1,21 +1,34 @@
 package com.testing.base.springboot.controller;
 
+import com.testing.base.springboot.changes.EmployeeChangeFeed;
+import com.testing.base.springboot.dto.EmployeeLookupResponse;
 import com.testing.base.springboot.model.Employee;
+import com.testing.base.springboot.ratelimit.ReadBudget;
 import com.testing.base.springboot.service.EmployeeService;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.HttpStatusCode;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Set;
 
 @RestController
 @RequestMapping("/api/employees")
 public class EmployeeController {
+    private static final int MAX_LOOKUP_IDS = 1000;
+    private static final String TOTAL_COUNT_HEADER = "X-Total-Count";
+
     private final EmployeeService employeeService;
+    private final EmployeeChangeFeed employeeChangeFeed;
 
-    public EmployeeController(EmployeeService employeeService) {
+    public EmployeeController(EmployeeService employeeService, EmployeeChangeFeed employeeChangeFeed) {
         this.employeeService = employeeService;
+        this.employeeChangeFeed = employeeChangeFeed;
     }
 
     @PostMapping
@@ -25,8 +38,29 @@ public class EmployeeController {
     }
 
     @GetMapping
-    public List<Employee> getAllEmployees() {
-        return employeeService.getAllEmployees();
+    public ResponseEntity<List<Employee>> getAllEmployees() {
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+        employeeService.getEmployeeCount().ifPresent(count -> response.header(TOTAL_COUNT_HEADER, String.valueOf(count))); //left out until the first count is known
+        return response.body(employeeService.getAllEmployees());
+    }
+
+    //Multi-get: GET /api/employees?ids=1,2,3 fetches many employees with one query instead of one request per id
+    @GetMapping(params = "ids")
+    public EmployeeLookupResponse getEmployeesByIds(@RequestParam("ids") List<Long> employeeIds) {
+        return lookupEmployees(employeeIds);
+    }
+
+    //Same as the multi-get above, for id lists too long for a url. Takes a JSON array of ids
+    @ReadBudget
+    @PostMapping("lookup")
+    public EmployeeLookupResponse lookupEmployeesByIds(@RequestBody List<Long> employeeIds) {
+        return lookupEmployees(employeeIds);
+    }
+
+    //Server-Sent Events stream of created/updated/deleted employees, reconnecting clients resume by sending back the Last-Event-ID they saw
+    @GetMapping(path = "changes", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamEmployeeChanges(@RequestHeader(name = "Last-Event-ID", required = false) Long lastEventId) {
+        return employeeChangeFeed.subscribe(lastEventId);
     }
 
     @GetMapping("{id}")
@@ -50,6 +84,27 @@ public class EmployeeController {
                 .orElseGet(() ->  ResponseEntity.notFound().build());
     }
 
+    private EmployeeLookupResponse lookupEmployees(List<Long> employeeIds) {
+        Set<Long> requestedIds = new LinkedHashSet<>(employeeIds);
+        if (requestedIds.size() > MAX_LOOKUP_IDS) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "At most " + MAX_LOOKUP_IDS + " ids can be requested at once");
+        }
+        List<Employee> employees = employeeService.getEmployeesByIds(requestedIds);
+        employees.forEach(employee -> requestedIds.remove(employee.getId()));
+        return new EmployeeLookupResponse(employees, List.copyOf(requestedIds));
+    }
+
+    //Bulk delete: DELETE /api/employees?ids=1,2,3 removes many employees with one statement per partition
+    @DeleteMapping(params = "ids")
+    public ResponseEntity<String> deleteEmployeesByIds(@RequestParam("ids") List<Long> employeeIds) {
+        Set<Long> requestedIds = new LinkedHashSet<>(employeeIds);
+        if (requestedIds.size() > MAX_LOOKUP_IDS) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "At most " + MAX_LOOKUP_IDS + " ids can be deleted at once");
+        }
+        int deleted = employeeService.deleteEmployeesByIds(requestedIds);
+        return new ResponseEntity<String>(deleted + " employees deleted successfully", HttpStatus.OK);
+    }
+
     @DeleteMapping("{id}")
     public ResponseEntity<String> deleteEmployeeById(@PathVariable("id") Long employeeId) {
         employeeService.deleteEmployeeById(employeeId);
@@ -0,0 +1,19 @@
+package com.testing.base.springboot.count;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "employees.count")
+public class EmployeeCountProperties {
+    public enum Mode { APPROXIMATE, EXACT }
+
+    //APPROXIMATE seeds the counter once from InnoDB's table statistics (cheap, can be off by tens of percent) and then only follows writes,
+    //EXACT runs SELECT COUNT(*) in the background every reconcileInterval, which can take seconds on a large table
+    private Mode mode = Mode.APPROXIMATE;
+    private Duration reconcileInterval = Duration.ofMinutes(5);
+}
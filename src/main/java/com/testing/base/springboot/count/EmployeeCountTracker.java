@@ -0,0 +1,79 @@
+package com.testing.base.springboot.count;
+
+import com.testing.base.springboot.event.EmployeeChangeEvent;
+import com.testing.base.springboot.repository.EmployeeRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.OptionalLong;
+import java.util.concurrent.atomic.AtomicLong;
+
+//Total number of employees without counting on the request path: committed creates and deletes adjust an in-memory counter.
+//APPROXIMATE only seeds the counter from InnoDB's table statistics on the first run and then follows the writes, because table_rows
+//is an estimate that MySQL additionally caches for information_schema_stats_expiry (a day by default), resetting to it would undo the writes.
+//EXACT resets the counter from SELECT COUNT(*) on every run, which corrects any drift but can take seconds on a large table.
+@Slf4j
+public class EmployeeCountTracker {
+    private static final String APPROXIMATE_COUNT_QUERY = "select table_rows from information_schema.tables " +
+            "where table_schema = database() and table_name = 'employees'";
+
+    private final EmployeeRepository employeeRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final EmployeeCountProperties properties;
+    private final AtomicLong count = new AtomicLong(-1); //-1 until the first reconciliation
+    private final AtomicLong changes = new AtomicLong();
+
+    public EmployeeCountTracker(EmployeeRepository employeeRepository, JdbcTemplate jdbcTemplate, EmployeeCountProperties properties) {
+        this.employeeRepository = employeeRepository;
+        this.jdbcTemplate = jdbcTemplate;
+        this.properties = properties;
+    }
+
+    public OptionalLong currentCount() {
+        long current = count.get();
+        return current < 0 ? OptionalLong.empty() : OptionalLong.of(current);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onEmployeeChange(EmployeeChangeEvent event) {
+        long delta = switch (event.getType()) {
+            case CREATED -> 1;
+            case DELETED -> -1;
+            case UPDATED -> 0;
+        };
+        if (delta != 0) {
+            changes.addAndGet(delta);
+            count.getAndUpdate(current -> current < 0 ? current : Math.max(0, current + delta));
+        }
+    }
+
+    //Scheduled by EmployeeCountConfig every employees.count.reconcile-interval.
+    //Changes committed while the count query runs are added on top of its result, so they aren't lost when the counter is reset
+    public void reconcile() {
+        boolean exact = properties.getMode() == EmployeeCountProperties.Mode.EXACT;
+        if (!exact && count.get() >= 0) {
+            return;
+        }
+        long changesBefore = changes.get();
+        try {
+            long databaseCount = exact ? employeeRepository.count() : approximateCount();
+            count.set(Math.max(0, databaseCount + changes.get() - changesBefore));
+        } catch (DataAccessException e) {
+            log.warn("Could not reconcile the employee count, keeping {}", count.get(), e);
+        }
+    }
+
+    private long approximateCount() {
+        try {
+            Long tableRows = jdbcTemplate.queryForObject(APPROXIMATE_COUNT_QUERY, Long.class);
+            if (tableRows != null) {
+                return tableRows;
+            }
+        } catch (DataAccessException e) {
+            log.debug("Table statistics not available, falling back to an exact count", e);
+        }
+        return employeeRepository.count();
+    }
+}
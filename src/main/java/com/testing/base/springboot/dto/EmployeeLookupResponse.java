@@ -0,0 +1,15 @@
+package com.testing.base.springboot.dto;
+
+import com.testing.base.springboot.model.Employee;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.List;
+
+//Response of a multi-get: the employees found, in the order their ids were requested, plus the ids that don't exist
+@Getter
+@AllArgsConstructor
+public class EmployeeLookupResponse {
+    private final List<Employee> employees;
+    private final List<Long> missingIds;
+}
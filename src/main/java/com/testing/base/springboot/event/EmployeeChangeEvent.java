@@ -0,0 +1,38 @@
+package com.testing.base.springboot.event;
+
+import com.testing.base.springboot.model.Employee;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+//Published by EmployeeServiceImpl for every write. Listeners should use @TransactionalEventListener so they only see committed changes.
+@Getter
+@AllArgsConstructor
+public class EmployeeChangeEvent {
+    public enum Type { CREATED, UPDATED, DELETED }
+
+    private final Type type;
+    private final long employeeId;
+    private final Employee employee; //null for DELETED
+
+    public static EmployeeChangeEvent created(Employee employee) {
+        return new EmployeeChangeEvent(Type.CREATED, employee.getId(), snapshot(employee));
+    }
+
+    public static EmployeeChangeEvent updated(Employee employee) {
+        return new EmployeeChangeEvent(Type.UPDATED, employee.getId(), snapshot(employee));
+    }
+
+    public static EmployeeChangeEvent deleted(long employeeId) {
+        return new EmployeeChangeEvent(Type.DELETED, employeeId, null);
+    }
+
+    //Listeners run after the transaction on other threads, so they get their own copy instead of the managed entity
+    private static Employee snapshot(Employee employee) {
+        return Employee.builder()
+                .id(employee.getId())
+                .firstName(employee.getFirstName())
+                .lastName(employee.getLastName())
+                .email(employee.getEmail())
+                .build();
+    }
+}
@@ -12,4 +12,14 @@ public class EmployeeServiceException extends RuntimeException {
     EmployeeServiceException(String message, Throwable throwable) {
         super(message, throwable);
     }
+
+    //Expected business failures are answered with a 409 and never logged with a trace, so filling in the stack trace is wasted work.
+    //With suppression and the stack trace disabled an instance holds no per-throw state, so it can also be preallocated and rethrown.
+    protected EmployeeServiceException(String message, boolean writableStackTrace) {
+        super(message, null, false, writableStackTrace);
+    }
+
+    public static EmployeeServiceException stackless(String message) {
+        return new EmployeeServiceException(message, false);
+    }
 }
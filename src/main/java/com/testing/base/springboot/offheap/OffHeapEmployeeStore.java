@@ -0,0 +1,327 @@
+package com.testing.base.springboot.offheap;
+
+import com.testing.base.springboot.model.Employee;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.locks.StampedLock;
+
+//Keeps employees outside the Java heap: records are packed as UTF-8 into one direct ByteBuffer (the arena)
+//and found through an open-addressing index of primitive long ids to int arena offsets, so there are no boxed keys,
+//entry objects or String instances per row for the GC to trace.
+//Record layout: [int recordLength][long id][short length + UTF-8 bytes] x (firstName, lastName, email), a length of -1 means null.
+//Updates append a new record and leave the old one as dead bytes, which compaction squeezes out in place.
+public class OffHeapEmployeeStore implements MeterBinder {
+    private static final long EMPTY = 0; //ids are generated by the database and start at 1
+    private static final int HEADER_BYTES = Integer.BYTES + Long.BYTES;
+    //Estimated on-heap cost of the same row as a HashMap<Long, Employee> entry (64 bit JVM, compressed oops):
+    //Employee 32 + 3 x (String 24 + byte[] header 16) + boxed Long 16 + HashMap.Node 32 + table slot ~5
+    private static final int ON_HEAP_FIXED_BYTES = 32 + 3 * (24 + 16) + 16 + 32 + 5;
+
+    private final ByteBuffer arena;
+    private final double compactionThreshold;
+    private final StampedLock lock = new StampedLock();
+    private long[] keys;
+    private int[] offsets;
+    private int mask;
+    private int size;
+    private int writeOffset;
+    private long deadBytes;
+    private long onHeapEstimateBytes;
+    private long writeCount;
+
+    public OffHeapEmployeeStore(int arenaBytes, int initialIndexCapacity, double compactionThreshold) {
+        this.arena = ByteBuffer.allocateDirect(arenaBytes);
+        this.compactionThreshold = compactionThreshold;
+        int capacity = Integer.highestOneBit(Math.max(16, initialIndexCapacity - 1) << 1);
+        this.keys = new long[capacity];
+        this.offsets = new int[capacity];
+        this.mask = capacity - 1;
+    }
+
+    public Employee get(long id) {
+        long stamp = lock.readLock();
+        try {
+            int slot = find(id);
+            return slot < 0 ? null : decode(offsets[slot]);
+        } finally {
+            lock.unlockRead(stamp);
+        }
+    }
+
+    //Returns false when the arena is full even after compaction, the caller then simply reads from the database
+    public boolean put(Employee employee) {
+        long stamp = lock.writeLock();
+        try {
+            writeCount++;
+            return write(employee);
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    //Number of put and remove calls so far, read before loading a row from the database to fill the store with it
+    public long writeCount() {
+        long stamp = lock.readLock();
+        try {
+            return writeCount;
+        } finally {
+            lock.unlockRead(stamp);
+        }
+    }
+
+    //Stores a row read from the database, unless a put or remove came in since writeCount() was read before that read:
+    //the row may then predate a committed update or delete, and storing it would serve the stale row until the next write
+    public boolean fill(Employee employee, long writeCountBeforeRead) {
+        long stamp = lock.writeLock();
+        try {
+            return writeCount == writeCountBeforeRead && find(employee.getId()) < 0 && write(employee);
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    public boolean remove(long id) {
+        long stamp = lock.writeLock();
+        try {
+            writeCount++;
+            int slot = find(id);
+            if (slot < 0) {
+                return false;
+            }
+            release(offsets[slot]);
+            removeSlot(slot);
+            compactIfWorthwhile();
+            return true;
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    public void compact() {
+        long stamp = lock.writeLock();
+        try {
+            compactArena();
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    public Stats stats() {
+        long stamp = lock.readLock();
+        try {
+            long indexBytes = (long) keys.length * (Long.BYTES + Integer.BYTES);
+            long liveBytes = writeOffset - deadBytes;
+            return new Stats(size, writeOffset, deadBytes, indexBytes,
+                    size == 0 ? 0 : (double) (liveBytes + indexBytes) / size,
+                    size == 0 ? 0 : (double) onHeapEstimateBytes / size);
+        } finally {
+            lock.unlockRead(stamp);
+        }
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("employees.offheap.records", this, store -> store.stats().records()).register(registry);
+        Gauge.builder("employees.offheap.arena.used", this, store -> store.stats().arenaBytesUsed()).baseUnit("bytes").register(registry);
+        Gauge.builder("employees.offheap.arena.dead", this, store -> store.stats().deadBytes()).baseUnit("bytes").register(registry);
+        Gauge.builder("employees.offheap.bytes.per.record", this, store -> store.stats().bytesPerRecord()).baseUnit("bytes").register(registry);
+        Gauge.builder("employees.onheap.estimated.bytes.per.record", this, store -> store.stats().onHeapBytesPerRecord()).baseUnit("bytes").register(registry);
+    }
+
+    public record Stats(long records, long arenaBytesUsed, long deadBytes, long indexBytes, double bytesPerRecord, double onHeapBytesPerRecord) {
+    }
+
+    private boolean write(Employee employee) {
+        long id = employee.getId();
+        if (id == EMPTY) {
+            return false;
+        }
+        byte[] firstName = utf8(employee.getFirstName());
+        byte[] lastName = utf8(employee.getLastName());
+        byte[] email = utf8(employee.getEmail());
+        int recordLength = HEADER_BYTES + 3 * Short.BYTES + length(firstName) + length(lastName) + length(email);
+        int slot = find(id);
+        if (slot >= 0) {
+            release(offsets[slot]);
+            removeSlot(slot);
+        }
+        if (arena.capacity() - writeOffset < recordLength && deadBytes > 0) {
+            compactArena();
+        }
+        if (arena.capacity() - writeOffset < recordLength) {
+            return false;
+        }
+        int offset = writeOffset;
+        arena.putInt(offset, recordLength);
+        arena.putLong(offset + Integer.BYTES, id);
+        int position = offset + HEADER_BYTES;
+        position = putString(position, firstName);
+        position = putString(position, lastName);
+        putString(position, email);
+        writeOffset += recordLength;
+        onHeapEstimateBytes += onHeapEstimate(offset);
+        insert(id, offset);
+        compactIfWorthwhile();
+        return true;
+    }
+
+    private Employee decode(int offset) {
+        int position = offset + HEADER_BYTES;
+        String firstName = getString(position);
+        position += Short.BYTES + Math.max(0, arena.getShort(position));
+        String lastName = getString(position);
+        position += Short.BYTES + Math.max(0, arena.getShort(position));
+        String email = getString(position);
+        return Employee.builder()
+                .id(arena.getLong(offset + Integer.BYTES))
+                .firstName(firstName)
+                .lastName(lastName)
+                .email(email)
+                .build();
+    }
+
+    private int putString(int position, byte[] value) {
+        if (value == null) {
+            arena.putShort(position, (short) -1);
+            return position + Short.BYTES;
+        }
+        arena.putShort(position, (short) value.length);
+        arena.put(position + Short.BYTES, value, 0, value.length);
+        return position + Short.BYTES + value.length;
+    }
+
+    private String getString(int position) {
+        short length = arena.getShort(position);
+        if (length < 0) {
+            return null;
+        }
+        byte[] bytes = new byte[length];
+        arena.get(position + Short.BYTES, bytes, 0, length);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private long onHeapEstimate(int offset) {
+        long bytes = ON_HEAP_FIXED_BYTES;
+        int position = offset + HEADER_BYTES;
+        for (int i = 0; i < 3; i++) {
+            int length = Math.max(0, arena.getShort(position));
+            bytes += (length + 7) & ~7; //byte[] payload, padded to 8 bytes
+            position += Short.BYTES + length;
+        }
+        return bytes;
+    }
+
+    private void release(int offset) {
+        deadBytes += arena.getInt(offset);
+        onHeapEstimateBytes -= onHeapEstimate(offset);
+    }
+
+    private void compactIfWorthwhile() {
+        if (deadBytes > compactionThreshold * writeOffset) {
+            compactArena();
+        }
+    }
+
+    //Slides live records down over the dead ones, in arena order, so no second arena has to be allocated
+    private void compactArena() {
+        int read = 0;
+        int write = 0;
+        byte[] buffer = new byte[256];
+        while (read < writeOffset) {
+            int recordLength = arena.getInt(read);
+            int slot = find(arena.getLong(read + Integer.BYTES));
+            if (slot >= 0 && offsets[slot] == read) {
+                if (write != read) {
+                    if (buffer.length < recordLength) {
+                        buffer = new byte[recordLength];
+                    }
+                    arena.get(read, buffer, 0, recordLength);
+                    arena.put(write, buffer, 0, recordLength);
+                    offsets[slot] = write;
+                }
+                write += recordLength;
+            }
+            read += recordLength;
+        }
+        writeOffset = write;
+        deadBytes = 0;
+    }
+
+    private int find(long id) {
+        if (id == EMPTY) {
+            return -1; //EMPTY marks free slots, it would match the first free slot probed
+        }
+        int slot = slotFor(id);
+        while (true) {
+            long key = keys[slot];
+            if (key == id) {
+                return slot;
+            }
+            if (key == EMPTY) {
+                return -1;
+            }
+            slot = (slot + 1) & mask;
+        }
+    }
+
+    private void insert(long id, int offset) {
+        if ((size + 1) * 2 > keys.length) {
+            resize();
+        }
+        int slot = slotFor(id);
+        while (keys[slot] != EMPTY) {
+            slot = (slot + 1) & mask;
+        }
+        keys[slot] = id;
+        offsets[slot] = offset;
+        size++;
+    }
+
+    //Backward shift deletion keeps linear probing free of tombstones
+    private void removeSlot(int slot) {
+        int hole = slot;
+        int next = (hole + 1) & mask;
+        while (keys[next] != EMPTY) {
+            int ideal = slotFor(keys[next]);
+            if (((next - ideal) & mask) >= ((next - hole) & mask)) {
+                keys[hole] = keys[next];
+                offsets[hole] = offsets[next];
+                hole = next;
+            }
+            next = (next + 1) & mask;
+        }
+        keys[hole] = EMPTY;
+        size--;
+    }
+
+    private void resize() {
+        long[] oldKeys = keys;
+        int[] oldOffsets = offsets;
+        keys = new long[oldKeys.length * 2];
+        offsets = new int[oldKeys.length * 2];
+        mask = keys.length - 1;
+        size = 0;
+        for (int i = 0; i < oldKeys.length; i++) {
+            if (oldKeys[i] != EMPTY) {
+                insert(oldKeys[i], oldOffsets[i]);
+            }
+        }
+    }
+
+    private int slotFor(long id) {
+        long hash = id * 0x9E3779B97F4A7C15L;
+        return (int) (hash ^ (hash >>> 32)) & mask;
+    }
+
+    private static byte[] utf8(String value) {
+        return value == null ? null : value.getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static int length(byte[] value) {
+        return value == null ? 0 : value.length;
+    }
+}
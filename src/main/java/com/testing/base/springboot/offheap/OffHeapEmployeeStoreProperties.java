@@ -0,0 +1,18 @@
+package com.testing.base.springboot.offheap;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.util.unit.DataSize;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "employees.offheap")
+public class OffHeapEmployeeStoreProperties {
+    private boolean enabled = false;
+    //Direct memory reserved for the record arena, at most 2GB. Remember to size -XX:MaxDirectMemorySize accordingly
+    private DataSize arenaSize = DataSize.ofMegabytes(256);
+    private int initialIndexCapacity = 1 << 16;
+    //Share of dead bytes in the arena that triggers compaction
+    private double compactionThreshold = 0.3;
+}
@@ -0,0 +1,20 @@
+package com.testing.base.springboot.offheap;
+
+import com.testing.base.springboot.event.EmployeeChangeEvent;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+//Applies committed writes to the store so reads served from it never see rolled back data
+public class OffHeapEmployeeStoreUpdater {
+    private final OffHeapEmployeeStore offHeapEmployeeStore;
+
+    public OffHeapEmployeeStoreUpdater(OffHeapEmployeeStore offHeapEmployeeStore) {
+        this.offHeapEmployeeStore = offHeapEmployeeStore;
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onEmployeeChange(EmployeeChangeEvent event) {
+        if (event.getType() == EmployeeChangeEvent.Type.DELETED || !offHeapEmployeeStore.put(event.getEmployee())) {
+            offHeapEmployeeStore.remove(event.getEmployeeId());
+        }
+    }
+}
@@ -0,0 +1,34 @@
+package com.testing.base.springboot.partitioning;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+//Runs after Hibernate has created/updated the employees table and converts it to a hash-partitioned layout on the primary key.
+//MySQL requires every unique key to contain the partitioning column, which the id primary key does,
+//so any unique constraint added to employees later has to include id as well.
+@Slf4j
+public class EmployeePartitionSchemaInitializer implements InitializingBean {
+    private static final String PARTITION_COUNT_QUERY = "select count(*) from information_schema.partitions " +
+            "where table_schema = database() and table_name = 'employees' and partition_name is not null";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final EmployeePartitioningProperties properties;
+
+    public EmployeePartitionSchemaInitializer(JdbcTemplate jdbcTemplate, EmployeePartitioningProperties properties) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.properties = properties;
+    }
+
+    @Override
+    public void afterPropertiesSet() {
+        Integer existingPartitions = jdbcTemplate.queryForObject(PARTITION_COUNT_QUERY, Integer.class);
+        if (existingPartitions == null || existingPartitions == 0) {
+            log.info("Partitioning employees table by HASH(id) into {} partitions", properties.getPartitions());
+            jdbcTemplate.execute("alter table employees partition by hash(id) partitions " + properties.getPartitions());
+        } else if (existingPartitions != properties.getPartitions()) {
+            //Repartitioning rewrites every row, that is a maintenance window decision and not something to do on startup
+            log.warn("employees table has {} partitions but {} are configured, keeping the existing layout", existingPartitions, properties.getPartitions());
+        }
+    }
+}
@@ -0,0 +1,14 @@
+package com.testing.base.springboot.partitioning;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "employees.partitioning")
+public class EmployeePartitioningProperties {
+    //When enabled, an unpartitioned employees table is converted to PARTITION BY HASH(id) at startup
+    private boolean enabled = false;
+    private int partitions = 16;
+}
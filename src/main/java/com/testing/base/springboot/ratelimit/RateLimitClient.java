@@ -0,0 +1,23 @@
+package com.testing.base.springboot.ratelimit;
+
+import jakarta.servlet.http.HttpServletRequest;
+
+import java.util.Map;
+
+//Who a request is limited as. bucketKey separates the buckets per api key or remote address, name is the bounded
+//identity used as metric tag: the configured client name, or "anonymous" for everyone limited by address.
+record RateLimitClient(String bucketKey, String name) {
+    static final String ANONYMOUS = "anonymous";
+
+    static RateLimitClient resolve(HttpServletRequest request, RateLimitProperties properties) {
+        String apiKey = request.getHeader(properties.getClientHeader());
+        if (apiKey != null) {
+            for (Map.Entry<String, String> client : properties.getApiKeys().entrySet()) {
+                if (apiKey.equals(client.getValue())) {
+                    return new RateLimitClient("key:" + client.getKey(), client.getKey());
+                }
+            }
+        }
+        return new RateLimitClient("ip:" + request.getRemoteAddr(), ANONYMOUS);
+    }
+}
@@ -0,0 +1,40 @@
+package com.testing.base.springboot.ratelimit;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "employees.rate-limit")
+public class RateLimitProperties {
+    private boolean enabled = true;
+    //Clients sending one of apiKeys in this header are limited by that key, everyone else by remote address.
+    //Unknown values are ignored, otherwise a client could get a fresh bucket per request by changing the header.
+    private String clientHeader = "X-API-Key";
+    //Client name to api key. The name tags the rejection metrics, the key itself never leaves the configuration.
+    private Map<String, String> apiKeys = new HashMap<>();
+    private Budget read = new Budget(200, 100);
+    private Budget write = new Budget(20, 10);
+    //Requests allowed inside the controller at once before new ones are shed with 503.
+    //Keep it well below server.tomcat.threads.max so a slow database fills this budget, not the Tomcat and Hikari queues.
+    private int maxInFlight = 64;
+    private Duration shedRetryAfter = Duration.ofSeconds(1);
+    //Upper bound on buckets kept in memory. Buckets are also dropped once idle long enough to have refilled completely.
+    private int maxTrackedClients = 10_000;
+
+    @Getter
+    @Setter
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Budget {
+        private long capacity;
+        private long tokensPerSecond;
+    }
+}
@@ -0,0 +1,26 @@
+package com.testing.base.springboot.ratelimit;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+
+final class RateLimitRejections {
+    private static final String REJECTED_METRIC = "employees.ratelimit.rejected";
+
+    private RateLimitRejections() {
+    }
+
+    //Tagged with the client name, never the address or key: one meter per configured client plus "anonymous"
+    static void reject(MeterRegistry meterRegistry, HttpServletResponse response, HttpStatus status, long retryAfterSeconds,
+                       String reason, RateLimitClient client) {
+        Counter.builder(REJECTED_METRIC)
+                .tag("reason", reason)
+                .tag("client", client.name())
+                .register(meterRegistry)
+                .increment();
+        response.setStatus(status.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(Math.max(1, retryAfterSeconds)));
+    }
+}
@@ -0,0 +1,40 @@
+package com.testing.base.springboot.ratelimit;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+//Sheds load when too many requests are already in flight (503 with Retry-After), before any work is spent on them.
+//The per-client read and write budgets are applied afterwards by RateLimitingInterceptor, once the handler is known.
+public class RateLimitingFilter extends OncePerRequestFilter {
+    private final RateLimitProperties properties;
+    private final MeterRegistry meterRegistry;
+    private final AtomicInteger inFlight = new AtomicInteger();
+
+    public RateLimitingFilter(RateLimitProperties properties, MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain) throws ServletException, IOException {
+        if (inFlight.incrementAndGet() > properties.getMaxInFlight()) {
+            inFlight.decrementAndGet();
+            RateLimitRejections.reject(meterRegistry, response, HttpStatus.SERVICE_UNAVAILABLE, properties.getShedRetryAfter().toSeconds(),
+                    "shed", RateLimitClient.resolve(request, properties));
+            return;
+        }
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            inFlight.decrementAndGet();
+        }
+    }
+}
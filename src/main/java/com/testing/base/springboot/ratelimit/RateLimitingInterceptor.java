@@ -0,0 +1,69 @@
+package com.testing.base.springboot.ratelimit;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.DispatcherType;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+//Per-client token buckets with separate budgets for reads and writes (429 with Retry-After).
+//Runs after handler mapping, so a POST handler annotated with @ReadBudget is told apart from a write by its method, not its url.
+public class RateLimitingInterceptor implements HandlerInterceptor {
+    private final RateLimitProperties properties;
+    private final MeterRegistry meterRegistry;
+    private final Cache<String, TokenBucket> readBuckets;
+    private final Cache<String, TokenBucket> writeBuckets;
+
+    public RateLimitingInterceptor(RateLimitProperties properties, MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.meterRegistry = meterRegistry;
+        this.readBuckets = buckets(properties.getRead(), properties.getMaxTrackedClients());
+        this.writeBuckets = buckets(properties.getWrite(), properties.getMaxTrackedClients());
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        //an async dispatch resumes a request that already paid, e.g. the change feed's SSE stream
+        if (request.getDispatcherType() == DispatcherType.ASYNC) {
+            return true;
+        }
+        boolean write = !isRead(request, handler);
+        RateLimitClient client = RateLimitClient.resolve(request, properties);
+        long waitNanos = bucketFor(client.bucketKey(), write).tryAcquire(System.nanoTime());
+        if (waitNanos > 0) {
+            RateLimitRejections.reject(meterRegistry, response, HttpStatus.TOO_MANY_REQUESTS,
+                    TimeUnit.NANOSECONDS.toSeconds(waitNanos) + 1, write ? "write" : "read", client);
+            return false;
+        }
+        return true;
+    }
+
+    //A bucket left alone for capacity / tokensPerSecond has refilled completely, dropping it then loses nothing
+    private static Cache<String, TokenBucket> buckets(RateLimitProperties.Budget budget, int maxTrackedClients) {
+        long refillMillis = TimeUnit.SECONDS.toMillis(1) * budget.getCapacity() / Math.max(1, budget.getTokensPerSecond());
+        return Caffeine.newBuilder()
+                .maximumSize(maxTrackedClients)
+                .expireAfterAccess(Duration.ofMillis(Math.max(1_000, refillMillis)))
+                .build();
+    }
+
+    private TokenBucket bucketFor(String client, boolean write) {
+        RateLimitProperties.Budget budget = write ? properties.getWrite() : properties.getRead();
+        return (write ? writeBuckets : readBuckets).get(client,
+                key -> new TokenBucket(budget.getCapacity(), budget.getTokensPerSecond(), System.nanoTime()));
+    }
+
+    private static boolean isRead(HttpServletRequest request, Object handler) {
+        String method = request.getMethod();
+        return HttpMethod.GET.matches(method) || HttpMethod.HEAD.matches(method) || HttpMethod.OPTIONS.matches(method)
+                || (handler instanceof HandlerMethod handlerMethod && handlerMethod.hasMethodAnnotation(ReadBudget.class));
+    }
+}
@@ -0,0 +1,15 @@
+package com.testing.base.springboot.ratelimit;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+//Marks a handler that only reads although it isn't mapped to GET, e.g. a lookup taking its ids in a POST body,
+//so RateLimitingInterceptor charges it to the read budget
+@Documented
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface ReadBudget {
+}
@@ -0,0 +1,37 @@
+package com.testing.base.springboot.ratelimit;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+//Lock-free token bucket. Instead of storing "tokens left" and "last refill" separately (which would need a lock to update together),
+//the whole bucket state is a single "theoretical arrival time" (the GCRA formulation of a token bucket), so acquiring a token is one CAS on one long.
+//A full bucket holds capacity tokens and one token is refilled every 1/tokensPerSecond seconds.
+public class TokenBucket {
+    private final long refillIntervalNanos;
+    private final long burstNanos;
+    private final AtomicLong theoreticalArrivalTime;
+
+    public TokenBucket(long capacity, long tokensPerSecond, long nowNanos) {
+        if (capacity < 1 || tokensPerSecond < 1) {
+            throw new IllegalArgumentException("capacity and tokensPerSecond must be positive");
+        }
+        this.refillIntervalNanos = Math.max(1, TimeUnit.SECONDS.toNanos(1) / tokensPerSecond);
+        this.burstNanos = refillIntervalNanos * capacity;
+        this.theoreticalArrivalTime = new AtomicLong(nowNanos); //starts full
+    }
+
+    //Returns 0 when a token was taken, otherwise the number of nanos until the next token becomes available.
+    public long tryAcquire(long nowNanos) {
+        while (true) {
+            long tat = theoreticalArrivalTime.get();
+            long newTat = (tat - nowNanos > 0 ? tat : nowNanos) + refillIntervalNanos;
+            long excessNanos = newTat - nowNanos - burstNanos;
+            if (excessNanos > 0) {
+                return excessNanos;
+            }
+            if (theoreticalArrivalTime.compareAndSet(tat, newTat)) {
+                return 0;
+            }
+        }
+    }
+}
@@ -0,0 +1,14 @@
+package com.testing.base.springboot.repository;
+
+import com.testing.base.springboot.model.Employee;
+
+import java.util.Collection;
+import java.util.List;
+
+//Bulk operations by id as single IN statements, which MySQL prunes to the partitions of the ids on the HASH(id) layout.
+//Single row findById/deleteById need nothing special, MySQL prunes "id = ?" to one partition.
+public interface EmployeePartitionedRepository {
+    List<Employee> findAllByIdWithinPartitions(Collection<Long> ids);
+
+    int deleteAllByIdWithinPartitions(Collection<Long> ids);
+}
@@ -0,0 +1,39 @@
+package com.testing.base.springboot.repository;
+
+import com.testing.base.springboot.model.Employee;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Collection;
+import java.util.List;
+
+//One IN statement per call, whatever the table layout. On the HASH(id) partitioned table MySQL prunes "id in (...)" to the
+//partitions holding the listed ids (EXPLAIN lists them, EmployeePartitioningBenchmark checks it), so addressing each
+//partition with its own statement would only turn one round trip into up to one per partition.
+@Transactional(readOnly = true)
+public class EmployeePartitionedRepositoryImpl implements EmployeePartitionedRepository {
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public List<Employee> findAllByIdWithinPartitions(Collection<Long> ids) {
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        return entityManager.createQuery("select e from Employee e where e.id in :ids", Employee.class)
+                .setParameter("ids", ids)
+                .getResultList();
+    }
+
+    @Override
+    @Transactional
+    public int deleteAllByIdWithinPartitions(Collection<Long> ids) {
+        if (ids.isEmpty()) {
+            return 0;
+        }
+        return entityManager.createQuery("delete from Employee e where e.id in :ids")
+                .setParameter("ids", ids)
+                .executeUpdate();
+    }
+}
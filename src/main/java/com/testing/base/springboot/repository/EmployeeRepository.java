@@ -1,15 +1,33 @@
 package com.testing.base.springboot.repository;
 
 import com.testing.base.springboot.model.Employee;
+import jakarta.persistence.QueryHint;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 
 import java.util.Optional;
+import java.util.stream.Stream;
 
-public interface EmployeeRepository extends JpaRepository<Employee, Long> {
+import static org.hibernate.jpa.HibernateHints.HINT_FETCH_SIZE;
+import static org.hibernate.jpa.HibernateHints.HINT_READ_ONLY;
+
+public interface EmployeeRepository extends JpaRepository<Employee, Long>, EmployeePartitionedRepository {
     Optional<Employee> findByEmail(String email);
 
+    //Streams the email column only, must be consumed inside a (read-only) transaction and closed afterwards.
+    //MySQL only honours the fetch size with useCursorFetch=true on the connection url, otherwise the driver buffers the whole result.
+    @QueryHints({@QueryHint(name = HINT_FETCH_SIZE, value = "1000"), @QueryHint(name = HINT_READ_ONLY, value = "true")})
+    @Query("select e.email from Employee e")
+    Stream<String> streamAllEmails();
+
+    //Unlike deleteById this reports whether a row was deleted, so callers only announce deletes that happened
+    @Modifying
+    @Query("delete from Employee e where e.id = :id")
+    int deleteByIdReturningCount(@Param("id") Long id);
+
     //Define custom query using JPQL with index params
     @Query("select e from Employee e where e.firstName = ?1 and e.lastName = ?2")
     Employee findByFirstNameAndLastNameUsingJPQLIndex(String firstName, String lastName);
@@ -2,13 +2,18 @@ package com.testing.base.springboot.service;
 
 import com.testing.base.springboot.model.Employee;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.OptionalLong;
 
 public interface EmployeeService {
     Employee saveEmployee(Employee employee);
     List<Employee> getAllEmployees();
+    OptionalLong getEmployeeCount();
     Optional<Employee> getEmployeeById(Long id);
+    List<Employee> getEmployeesByIds(Collection<Long> ids);
     Employee updateEmployee(Employee updatedEmployee);
     void deleteEmployeeById(Long id);
+    int deleteEmployeesByIds(Collection<Long> ids);
 }
@@ -1,29 +1,58 @@
 package com.testing.base.springboot.service.impl;
 
+import com.testing.base.springboot.bloom.EmployeeEmailFilter;
+import com.testing.base.springboot.count.EmployeeCountTracker;
+import com.testing.base.springboot.event.EmployeeChangeEvent;
 import com.testing.base.springboot.exception.EmployeeServiceException;
 import com.testing.base.springboot.model.Employee;
+import com.testing.base.springboot.offheap.OffHeapEmployeeStore;
 import com.testing.base.springboot.repository.EmployeeRepository;
 import com.testing.base.springboot.service.EmployeeService;
+import jakarta.annotation.Nullable;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.OptionalLong;
+import java.util.Set;
 
 @Service
 public class EmployeeServiceImpl implements EmployeeService {
     private final EmployeeRepository employeeRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final EmployeeEmailFilter employeeEmailFilter;
+    private final OffHeapEmployeeStore offHeapEmployeeStore; //null unless employees.offheap.enabled=true
+    private final EmployeeCountTracker employeeCountTracker;
 
-    public EmployeeServiceImpl(EmployeeRepository employeeRepository) {
+    public EmployeeServiceImpl(EmployeeRepository employeeRepository, ApplicationEventPublisher eventPublisher, EmployeeEmailFilter employeeEmailFilter,
+                               @Nullable OffHeapEmployeeStore offHeapEmployeeStore, EmployeeCountTracker employeeCountTracker) {
         this.employeeRepository = employeeRepository;
+        this.eventPublisher = eventPublisher;
+        this.employeeEmailFilter = employeeEmailFilter;
+        this.offHeapEmployeeStore = offHeapEmployeeStore;
+        this.employeeCountTracker = employeeCountTracker;
     }
 
     @Override
+    @Transactional
     public Employee saveEmployee(Employee employee) {
-        Optional<Employee> optionalEmployee = employeeRepository.findByEmail(employee.getEmail());
-        if(optionalEmployee.isPresent()){
-            throw new EmployeeServiceException("Employee already exists with email :- "+employee.getEmail());
+        //Most emails are new, the Bloom filter answers those without a query and only possible duplicates reach the database
+        if (employeeEmailFilter.mightContain(employee.getEmail())) {
+            Optional<Employee> optionalEmployee = employeeRepository.findByEmail(employee.getEmail());
+            if(optionalEmployee.isPresent()){
+                throw EmployeeServiceException.stackless("Employee already exists with email :- "+employee.getEmail());
+            }
         }
-        return employeeRepository.save(employee);
+        Employee savedEmployee = employeeRepository.save(employee);
+        eventPublisher.publishEvent(EmployeeChangeEvent.created(savedEmployee));
+        return savedEmployee;
     }
 
     @Override
@@ -31,18 +60,85 @@ public class EmployeeServiceImpl implements EmployeeService {
         return employeeRepository.findAll();
     }
 
+    //Maintained from committed writes and reconciled in the background, never counts on the caller's thread
+    @Override
+    public OptionalLong getEmployeeCount() {
+        return employeeCountTracker.currentCount();
+    }
+
     @Override
     public Optional<Employee> getEmployeeById(Long id) {
-        return employeeRepository.findById(id);
+        if (offHeapEmployeeStore == null) {
+            return employeeRepository.findById(id);
+        }
+        Employee storedEmployee = offHeapEmployeeStore.get(id);
+        if (storedEmployee != null) {
+            return Optional.of(storedEmployee);
+        }
+        //Committed updates and deletes reach the store after the commit, one of them landing between this read and the fill
+        //would be undone by storing the row as read, so the fill is skipped when any write reached the store meanwhile
+        long writeCount = offHeapEmployeeStore.writeCount();
+        Optional<Employee> optionalEmployee = employeeRepository.findById(id);
+        optionalEmployee.ifPresent(employee -> offHeapEmployeeStore.fill(employee, writeCount));
+        return optionalEmployee;
     }
 
+    //One IN query for all ids instead of a findById round trip each. The IN list is padded to a power of two
+    //(in_clause_parameter_padding) so the statement is reused, and MySQL prunes it when the table is hash partitioned.
+    //The result follows the order of the requested ids, ids that don't exist are left out.
     @Override
+    public List<Employee> getEmployeesByIds(Collection<Long> ids) {
+        Set<Long> distinctIds = new LinkedHashSet<>(ids);
+        Map<Long, Employee> employeesById = new HashMap<>();
+        List<Long> idsToLoad = new ArrayList<>(distinctIds.size());
+        for (Long id : distinctIds) {
+            Employee storedEmployee = offHeapEmployeeStore == null ? null : offHeapEmployeeStore.get(id);
+            if (storedEmployee != null) {
+                employeesById.put(id, storedEmployee);
+            } else {
+                idsToLoad.add(id);
+            }
+        }
+        if (!idsToLoad.isEmpty()) {
+            employeeRepository.findAllById(idsToLoad).forEach(employee -> employeesById.put(employee.getId(), employee));
+        }
+        List<Employee> employees = new ArrayList<>(employeesById.size());
+        for (Long id : distinctIds) {
+            Employee employee = employeesById.get(id);
+            if (employee != null) {
+                employees.add(employee);
+            }
+        }
+        return employees;
+    }
+
+    @Override
+    @Transactional
     public Employee updateEmployee(Employee updatedEmployee) {
-        return employeeRepository.save(updatedEmployee);
+        Employee savedEmployee = employeeRepository.save(updatedEmployee);
+        eventPublisher.publishEvent(EmployeeChangeEvent.updated(savedEmployee));
+        return savedEmployee;
     }
 
+    //Bulk delete with one IN statement. The ids that exist are read first, with the same padded IN query as the multi-get,
+    //so DELETED is only announced for employees that were actually there
     @Override
+    @Transactional
+    public int deleteEmployeesByIds(Collection<Long> ids) {
+        List<Long> existingIds = employeeRepository.findAllById(new LinkedHashSet<>(ids)).stream()
+                .map(Employee::getId)
+                .toList();
+        int deleted = employeeRepository.deleteAllByIdWithinPartitions(existingIds);
+        existingIds.forEach(id -> eventPublisher.publishEvent(EmployeeChangeEvent.deleted(id)));
+        return deleted;
+    }
+
+    @Override
+    @Transactional
     public void deleteEmployeeById(Long id) {
-        employeeRepository.deleteById(id);
+        //Deleting an id that doesn't exist is not a change, announcing it would decrement the count and mislead change feed consumers
+        if (employeeRepository.deleteByIdReturningCount(id) > 0) {
+            eventPublisher.publishEvent(EmployeeChangeEvent.deleted(id));
+        }
     }
 }
\ No newline at end of file
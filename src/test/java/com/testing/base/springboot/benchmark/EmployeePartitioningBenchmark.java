@@ -0,0 +1,135 @@
+package com.testing.base.springboot.benchmark;
+
+import com.testing.base.springboot.partitioning.EmployeePartitionSchemaInitializer;
+import com.testing.base.springboot.partitioning.EmployeePartitioningProperties;
+import com.testing.base.springboot.repository.EmployeeRepository;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.MethodOrderer;
+import org.junit.jupiter.api.Order;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestMethodOrder;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.testcontainers.containers.MySQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+//Compares the plain employees layout with PARTITION BY HASH(id) at large row counts, through the application's own repository:
+//findById for point lookups and the single IN statements of findAllByIdWithinPartitions/deleteAllByIdWithinPartitions for bulk operations.
+//The same table is measured unpartitioned first and then converted by EmployeePartitionSchemaInitializer, with identical batches of ids.
+//Not part of the regular test run, start it with: gradle benchmark -Dbenchmark.rows=5000000
+@Tag("benchmark")
+@Testcontainers
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE)
+@TestMethodOrder(MethodOrderer.OrderAnnotation.class)
+public class EmployeePartitioningBenchmark {
+    private static final int ROWS = Integer.getInteger("benchmark.rows", 1_000_000);
+    private static final int PARTITIONS = 16;
+    private static final int INSERT_BATCH_SIZE = 5_000;
+    private static final int BULK_BATCH_SIZE = 1_000;
+    private static final int LOOKUPS = 20_000;
+    private static final int DELETES = 20_000;
+
+    @Container
+    private static final MySQLContainer<?> MY_SQL_CONTAINER = new MySQLContainer<>("mysql:latest")
+            .withDatabaseName("employees_benchmark")
+            .withUrlParam("rewriteBatchedStatements", "true");
+
+    @Autowired
+    private EmployeeRepository employeeRepository;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @DynamicPropertySource
+    public static void dynamicPropertySource(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", MY_SQL_CONTAINER::getJdbcUrl);
+        registry.add("spring.datasource.username", MY_SQL_CONTAINER::getUsername);
+        registry.add("spring.datasource.password", MY_SQL_CONTAINER::getPassword);
+        registry.add("spring.jpa.show-sql", () -> "false");
+    }
+
+    @Order(1)
+    @DisplayName("Benchmark for the plain employees table")
+    @Test
+    public void plainLayout() {
+        run("plain");
+    }
+
+    @Order(2)
+    @DisplayName("Benchmark for the hash partitioned employees table")
+    @Test
+    public void hashedLayout() {
+        jdbcTemplate.execute("truncate table employees");
+        EmployeePartitioningProperties properties = new EmployeePartitioningProperties();
+        properties.setPartitions(PARTITIONS);
+        new EmployeePartitionSchemaInitializer(jdbcTemplate, properties).afterPropertiesSet();
+        assertThat(jdbcTemplate.queryForMap("explain select * from employees where id = ?", 42L).get("partitions"))
+                .isEqualTo("p" + (42 % PARTITIONS));
+        //the single IN statements of the repository are pruned as well, to the partitions of the listed ids only
+        assertThat(jdbcTemplate.queryForMap("explain select * from employees where id in (?, ?, ?)", 1L, 2L, 1L + PARTITIONS).get("partitions"))
+                .isEqualTo("p1,p2");
+
+        run("hashed");
+    }
+
+    private void run(String layout) {
+        report("insert " + ROWS + " rows", layout, time(this::insertRows));
+
+        Random random = new Random(7);
+        report(LOOKUPS + " findById", layout, time(() -> {
+            for (int i = 0; i < LOOKUPS; i++) {
+                employeeRepository.findById(1L + random.nextInt(ROWS));
+            }
+        }));
+
+        List<List<Long>> batches = batches(new Random(11).longs(DELETES, 1, ROWS + 1L).distinct().boxed().collect(Collectors.toList()));
+        int ids = batches.stream().mapToInt(List::size).sum();
+        report(ids + " findAllById", layout, time(() ->
+                batches.forEach(batch -> assertThat(employeeRepository.findAllByIdWithinPartitions(batch)).hasSize(batch.size()))));
+        report(ids + " deleteAllById", layout, time(() ->
+                batches.forEach(employeeRepository::deleteAllByIdWithinPartitions)));
+        assertThat(employeeRepository.count()).isEqualTo(ROWS - ids);
+    }
+
+    private void insertRows() {
+        List<Object[]> batch = new ArrayList<>(INSERT_BATCH_SIZE);
+        for (long id = 1; id <= ROWS; id++) {
+            batch.add(new Object[]{id, "First" + id, "Last" + id, "employee" + id + "@example.com"});
+            if (batch.size() == INSERT_BATCH_SIZE || id == ROWS) {
+                jdbcTemplate.batchUpdate("insert into employees (id, first_name, last_name, email) values (?, ?, ?, ?)", batch);
+                batch.clear();
+            }
+        }
+    }
+
+    //Both layouts get the same batches, MySQL prunes each IN list to the partitions it touches
+    private static List<List<Long>> batches(List<Long> ids) {
+        List<List<Long>> batches = new ArrayList<>();
+        for (int from = 0; from < ids.size(); from += BULK_BATCH_SIZE) {
+            batches.add(ids.subList(from, Math.min(from + BULK_BATCH_SIZE, ids.size())));
+        }
+        return batches;
+    }
+
+    private static long time(Runnable runnable) {
+        long start = System.nanoTime();
+        runnable.run();
+        return TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+    }
+
+    private static void report(String operation, String layout, long millis) {
+        System.out.printf("%-28s %-8s %8d ms%n", operation, layout, millis);
+    }
+}
@@ -0,0 +1,69 @@
+package com.testing.base.springboot.bloom;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class BloomFilterTests {
+
+    //Junit for mightContain operation on values that were put
+    @DisplayName("Junit test for mightContain operation of BloomFilter on inserted values")
+    @Test
+    public void givenInsertedEmails_whenMightContain_thenAlwaysTrue() {
+        //given - precondition or setup
+        BloomFilter bloomFilter = BloomFilter.create(10_000, 0.01, 1024 * 1024);
+        for (int i = 0; i < 10_000; i++) {
+            bloomFilter.put("employee" + i + "@gmail.com");
+        }
+
+        //when - action or behaviour that we are going to test
+        boolean allFound = true;
+        for (int i = 0; i < 10_000; i++) {
+            allFound &= bloomFilter.mightContain("employee" + i + "@gmail.com");
+        }
+
+        //then - verify the output
+        assertThat(allFound).isTrue();
+        assertThat(bloomFilter.insertions()).isEqualTo(10_000);
+    }
+
+    @DisplayName("Junit test for the false positive rate of BloomFilter")
+    @Test
+    public void givenFullFilter_whenMightContainUnknownEmails_thenFalsePositivesStayNearConfiguredRate() {
+        //given - precondition or setup
+        BloomFilter bloomFilter = BloomFilter.create(10_000, 0.01, 1024 * 1024);
+        for (int i = 0; i < 10_000; i++) {
+            bloomFilter.put("employee" + i + "@gmail.com");
+        }
+
+        //when - action or behaviour that we are going to test
+        int falsePositives = 0;
+        for (int i = 0; i < 100_000; i++) {
+            if (bloomFilter.mightContain("unknown" + i + "@gmail.com")) {
+                falsePositives++;
+            }
+        }
+
+        //then - verify the output
+        assertThat(falsePositives / 100_000.0).isLessThan(0.02);
+        assertThat(bloomFilter.expectedFalsePositiveRate()).isLessThan(0.02);
+    }
+
+    @DisplayName("Junit test for BloomFilter sizing capped by the memory budget")
+    @Test
+    public void givenSmallMemoryBudget_whenCreate_thenSizeIsCapped() {
+        //when - action or behaviour that we are going to test
+        BloomFilter bloomFilter = BloomFilter.create(1_000_000, 0.001, 4096);
+
+        //then - verify the output
+        assertThat(bloomFilter.sizeInBytes()).isEqualTo(4096);
+    }
+
+    @DisplayName("Junit test for BloomFilter creation with an invalid false positive rate")
+    @Test
+    public void givenInvalidFalsePositiveRate_whenCreate_thenThrowsException() {
+        assertThrows(IllegalArgumentException.class, () -> BloomFilter.create(100, 1.5, 4096));
+    }
+}
@@ -0,0 +1,219 @@
+package com.testing.base.springboot.bloom;
+
+import com.testing.base.springboot.count.EmployeeCountTracker;
+import com.testing.base.springboot.event.EmployeeChangeEvent;
+import com.testing.base.springboot.exception.EmployeeServiceException;
+import com.testing.base.springboot.model.Employee;
+import com.testing.base.springboot.repository.EmployeeRepository;
+import com.testing.base.springboot.service.impl.EmployeeServiceImpl;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.util.Optional;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.BDDMockito.willAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+//Runs the filter against a mocked repository, rebuilds go to a single thread executor the tests wait on.
+//The service tests publish events straight into the filter, the way the after-commit listener gets them.
+public class EmployeeEmailFilterTests {
+    private EmployeeRepository employeeRepository;
+    private EmployeeEmailFilterProperties properties;
+    private ExecutorService rebuildExecutor;
+    private EmployeeEmailFilter employeeEmailFilter;
+    private Employee employee;
+
+    @BeforeEach
+    public void setup() {
+        employeeRepository = mock(EmployeeRepository.class);
+        properties = new EmployeeEmailFilterProperties();
+        properties.setExpectedInsertions(1_000);
+        rebuildExecutor = Executors.newSingleThreadExecutor();
+        employeeEmailFilter = new EmployeeEmailFilter(employeeRepository, mock(PlatformTransactionManager.class), properties,
+                new SimpleMeterRegistry(), rebuildExecutor);
+        employee = Employee.builder()
+                .id(1L)
+                .firstName("Spring")
+                .lastName("Boot")
+                .email("spring.boot@gmail.com")
+                .build();
+    }
+
+    @AfterEach
+    public void tearDown() {
+        employeeEmailFilter.shutdown();
+    }
+
+    @DisplayName("Junit test for mightContain operation of EmployeeEmailFilter before the first build")
+    @Test
+    public void givenFilterNotBuilt_whenMightContain_thenAlwaysQueryDatabase() {
+        //given - precondition or setup
+
+        //when - action or behaviour that we are going to test
+        boolean mightContain = employeeEmailFilter.mightContain("unknown@gmail.com");
+
+        //then - verify the output
+        assertThat(mightContain).isTrue();
+    }
+
+    @DisplayName("Junit test for rebuilding EmployeeEmailFilter from the stored emails")
+    @Test
+    public void givenStoredEmails_whenRebuild_thenOnlyUnknownEmailsAreDefiniteMisses() throws Exception {
+        //given - precondition or setup
+        given(employeeRepository.streamAllEmails()).willAnswer(invocation -> Stream.of("Spring.Boot@gmail.com", "apache.maven@gmail.com"));
+
+        //when - action or behaviour that we are going to test
+        rebuild();
+
+        //then - verify the output
+        assertThat(employeeEmailFilter.mightContain(" spring.boot@GMAIL.com")).isTrue();
+        assertThat(employeeEmailFilter.mightContain("apache.maven@gmail.com")).isTrue();
+        assertThat(employeeEmailFilter.mightContain("unknown@gmail.com")).isFalse();
+    }
+
+    @DisplayName("Junit test for EmployeeEmailFilter treating emails equal that the accent insensitive email column treats equal")
+    @Test
+    public void givenStoredAccentedEmails_whenMightContainUnaccentedVariant_thenNotADefiniteMiss() throws Exception {
+        //given - precondition or setup
+        given(employeeRepository.streamAllEmails()).willAnswer(invocation -> Stream.of("Jos\u00e9.Garc\u00eda@gmail.com", "strasse@gmail.com"));
+
+        //when - action or behaviour that we are going to test
+        rebuild();
+
+        //then - verify the output
+        assertThat(employeeEmailFilter.mightContain("jose.garcia@gmail.com")).isTrue();
+        assertThat(employeeEmailFilter.mightContain("JOS\u00c9.GARC\u00cdA@gmail.com")).isTrue();
+        assertThat(employeeEmailFilter.mightContain("Stra\u00dfe@gmail.com")).isTrue();
+    }
+
+    @DisplayName("Junit test for replaying emails committed while EmployeeEmailFilter is rebuilt")
+    @Test
+    public void givenEmployeeCreatedDuringRebuild_whenRebuildFinishes_thenEmailIsInNewFilter() throws Exception {
+        //given - precondition or setup
+        given(employeeRepository.streamAllEmails()).willAnswer(invocation -> {
+            //committed after the scan took its snapshot, so the stream doesn't return it
+            employeeEmailFilter.onEmployeeChange(EmployeeChangeEvent.created(employee));
+            return Stream.of("apache.maven@gmail.com");
+        });
+
+        //when - action or behaviour that we are going to test
+        rebuild();
+
+        //then - verify the output
+        assertThat(employeeEmailFilter.mightContain(employee.getEmail())).isTrue();
+        assertThat(employeeEmailFilter.mightContain("unknown@gmail.com")).isFalse();
+    }
+
+    @DisplayName("Junit test for rebuilding EmployeeEmailFilter once stale entries exceed the configured ratio")
+    @Test
+    public void givenUpdatesAndDeletes_whenStaleRatioExceeded_thenRebuild() throws Exception {
+        //given - precondition or setup
+        properties.setRebuildStaleRatio(0.2);
+        given(employeeRepository.streamAllEmails()).willAnswer(invocation ->
+                Stream.of("a@gmail.com", "b@gmail.com", "c@gmail.com", "d@gmail.com", "e@gmail.com"));
+        rebuild();
+
+        //when - action or behaviour that we are going to test
+        employeeEmailFilter.onEmployeeChange(EmployeeChangeEvent.updated(employee));
+        awaitRebuild();
+        verify(employeeRepository, times(1)).streamAllEmails();
+        employeeEmailFilter.onEmployeeChange(EmployeeChangeEvent.deleted(2L));
+        awaitRebuild();
+
+        //then - verify the output
+        verify(employeeRepository, times(2)).streamAllEmails();
+    }
+
+    @DisplayName("Junit test for keeping the previous EmployeeEmailFilter when a rebuild fails")
+    @Test
+    public void givenBuiltFilter_whenRebuildFails_thenKeepPreviousFilter() throws Exception {
+        //given - precondition or setup
+        given(employeeRepository.streamAllEmails())
+                .willAnswer(invocation -> Stream.of(employee.getEmail()))
+                .willThrow(new IllegalStateException("database unavailable"));
+        rebuild();
+
+        //when - action or behaviour that we are going to test
+        rebuild();
+
+        //then - verify the output
+        assertThat(employeeEmailFilter.mightContain(employee.getEmail())).isTrue();
+        assertThat(employeeEmailFilter.mightContain("unknown@gmail.com")).isFalse();
+    }
+
+    @DisplayName("Junit test for saveEmployee operation skipping findByEmail on a definite miss of the built filter")
+    @Test
+    public void givenBuiltFilter_whenSaveEmployeeWithNewEmail_thenSkipFindByEmail() throws Exception {
+        //given - precondition or setup
+        EmployeeServiceImpl employeeService = employeeService();
+        given(employeeRepository.streamAllEmails()).willAnswer(invocation -> Stream.of("apache.maven@gmail.com"));
+        given(employeeRepository.save(employee)).willReturn(employee);
+        rebuild();
+
+        //when - action or behaviour that we are going to test
+        Employee savedEmployee = employeeService.saveEmployee(employee);
+
+        //then - verify the output
+        assertThat(savedEmployee).isNotNull();
+        verify(employeeRepository, never()).findByEmail(any(String.class));
+    }
+
+    @DisplayName("Junit test for saveEmployee operation detecting a duplicate of an employee saved during a rebuild")
+    @Test
+    public void givenEmployeeSavedDuringRebuild_whenSaveSameEmailAgain_thenThrowsException() throws Exception {
+        //given - precondition or setup
+        EmployeeServiceImpl employeeService = employeeService();
+        given(employeeRepository.findByEmail(employee.getEmail()))
+                .willReturn(Optional.empty())
+                .willReturn(Optional.of(employee));
+        given(employeeRepository.save(employee)).willReturn(employee);
+        given(employeeRepository.streamAllEmails()).willAnswer(invocation -> {
+            employeeService.saveEmployee(employee);
+            return Stream.of("apache.maven@gmail.com");
+        });
+        rebuild();
+        Employee duplicate = Employee.builder().firstName("Other").lastName("Person").email(employee.getEmail()).build();
+
+        //when - action or behaviour that we are going to test
+        assertThrows(EmployeeServiceException.class, () -> employeeService.saveEmployee(duplicate));
+
+        //then - verify the output
+        verify(employeeRepository, times(2)).findByEmail(employee.getEmail());
+        verify(employeeRepository, never()).save(duplicate);
+    }
+
+    private EmployeeServiceImpl employeeService() {
+        ApplicationEventPublisher eventPublisher = mock(ApplicationEventPublisher.class);
+        willAnswer(invocation -> {
+            employeeEmailFilter.onEmployeeChange(invocation.getArgument(0));
+            return null;
+        }).given(eventPublisher).publishEvent(any(Object.class));
+        return new EmployeeServiceImpl(employeeRepository, eventPublisher, employeeEmailFilter, null, mock(EmployeeCountTracker.class));
+    }
+
+    private void rebuild() throws Exception {
+        employeeEmailFilter.scheduleRebuild();
+        awaitRebuild();
+    }
+
+    //The executor runs one task at a time, so this returns after any rebuild scheduled before it
+    private void awaitRebuild() throws Exception {
+        rebuildExecutor.submit(() -> { }).get(5, TimeUnit.SECONDS);
+    }
+}
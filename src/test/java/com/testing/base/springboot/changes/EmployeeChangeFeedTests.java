@@ -0,0 +1,272 @@
+package com.testing.base.springboot.changes;
+
+import com.testing.base.springboot.controller.EmployeeController;
+import com.testing.base.springboot.event.EmployeeChangeEvent;
+import com.testing.base.springboot.model.Employee;
+import com.testing.base.springboot.service.EmployeeService;
+import jakarta.servlet.Filter;
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.WriteListener;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.servlet.http.HttpServletResponseWrapper;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+
+//Subscribes through the controller so events are written to a real SSE response.
+//The feed dispatches on a single thread the tests can hold up, which makes a subscriber fall behind on demand.
+public class EmployeeChangeFeedTests {
+    private static final Pattern SSE_EVENT = Pattern.compile("id:(\\d+)\nevent:(\\w+)\n");
+
+    private ExecutorService dispatcher;
+    private EmployeeChangeFeedProperties properties;
+    private Employee employee;
+
+    @BeforeEach
+    public void setup() {
+        dispatcher = Executors.newSingleThreadExecutor();
+        properties = new EmployeeChangeFeedProperties();
+        employee = Employee.builder()
+                .id(1L)
+                .firstName("Spring")
+                .lastName("Boot")
+                .email("spring.boot@gmail.com")
+                .build();
+    }
+
+    @AfterEach
+    public void tearDown() {
+        dispatcher.shutdownNow();
+    }
+
+    @DisplayName("Junit test for replaying the events after a Last-Event-ID still in the replay buffer")
+    @Test
+    public void givenLastEventIdInReplayBuffer_whenSubscribe_thenReplayLaterEvents() throws Exception {
+        //given - precondition or setup
+        EmployeeChangeFeed employeeChangeFeed = new EmployeeChangeFeed(properties, dispatcher);
+        employeeChangeFeed.onEmployeeChange(EmployeeChangeEvent.created(employee));
+        employeeChangeFeed.onEmployeeChange(EmployeeChangeEvent.updated(employee));
+        employeeChangeFeed.onEmployeeChange(EmployeeChangeEvent.deleted(employee.getId()));
+
+        //when - action or behaviour that we are going to test
+        MvcResult result = subscribe(employeeChangeFeed, get("/api/employees/changes").header("Last-Event-ID", "1"));
+        employeeChangeFeed.onEmployeeChange(EmployeeChangeEvent.created(employee));
+        awaitDispatch();
+
+        //then - verify the output
+        assertThat(events(result)).containsExactly("2:updated", "3:deleted", "4:created");
+    }
+
+    @DisplayName("Junit test for the reset event when the Last-Event-ID fell out of the replay buffer")
+    @Test
+    public void givenExpiredLastEventId_whenSubscribe_thenSendResetInsteadOfReplay() throws Exception {
+        //given - precondition or setup
+        properties.setReplayBufferSize(2);
+        EmployeeChangeFeed employeeChangeFeed = new EmployeeChangeFeed(properties, dispatcher);
+        for (int i = 0; i < 4; i++) {
+            employeeChangeFeed.onEmployeeChange(EmployeeChangeEvent.updated(employee));
+        }
+
+        //when - action or behaviour that we are going to test
+        MvcResult expired = subscribe(employeeChangeFeed, get("/api/employees/changes").header("Last-Event-ID", "1"));
+        MvcResult oldestKept = subscribe(employeeChangeFeed, get("/api/employees/changes").header("Last-Event-ID", "2"));
+        awaitDispatch();
+
+        //then - verify the output
+        assertThat(events(expired)).containsExactly("4:reset");
+        assertThat(events(oldestKept)).containsExactly("3:updated", "4:updated");
+    }
+
+    @DisplayName("Junit test for the reset event when the Last-Event-ID is ahead of the feed, e.g. after a restart")
+    @Test
+    public void givenLastEventIdAheadOfFeed_whenSubscribe_thenSendReset() throws Exception {
+        //given - precondition or setup
+        EmployeeChangeFeed employeeChangeFeed = new EmployeeChangeFeed(properties, dispatcher);
+        employeeChangeFeed.onEmployeeChange(EmployeeChangeEvent.created(employee));
+
+        //when - action or behaviour that we are going to test
+        MvcResult result = subscribe(employeeChangeFeed, get("/api/employees/changes").header("Last-Event-ID", "42"));
+        awaitDispatch();
+
+        //then - verify the output
+        assertThat(events(result)).containsExactly("1:reset");
+    }
+
+    @DisplayName("Junit test for disconnecting a subscriber whose queue overflows")
+    @Test
+    public void givenSlowSubscriberAndDisconnectPolicy_whenQueueOverflows_thenDisconnectSubscriber() throws Exception {
+        //given - precondition or setup
+        properties.setSubscriberQueueSize(2);
+        properties.setSlowConsumerPolicy(EmployeeChangeFeedProperties.SlowConsumerPolicy.DISCONNECT);
+        EmployeeChangeFeed employeeChangeFeed = new EmployeeChangeFeed(properties, dispatcher);
+        MvcResult result = subscribe(employeeChangeFeed, get("/api/employees/changes"));
+        assertThat(employeeChangeFeed.subscriberCount()).isEqualTo(1);
+
+        //when - action or behaviour that we are going to test
+        CountDownLatch slowClient = holdDispatcher();
+        for (int i = 0; i < 3; i++) {
+            employeeChangeFeed.onEmployeeChange(EmployeeChangeEvent.updated(employee));
+        }
+        slowClient.countDown();
+        awaitDispatch();
+
+        //then - verify the output
+        assertThat(employeeChangeFeed.subscriberCount()).isZero();
+        assertThat(events(result)).isEmpty();
+    }
+
+    @DisplayName("Junit test for dropping the oldest queued events of a slow subscriber")
+    @Test
+    public void givenSlowSubscriberAndDropOldestPolicy_whenQueueOverflows_thenKeepNewestEvents() throws Exception {
+        //given - precondition or setup
+        properties.setSubscriberQueueSize(2);
+        properties.setSlowConsumerPolicy(EmployeeChangeFeedProperties.SlowConsumerPolicy.DROP_OLDEST);
+        EmployeeChangeFeed employeeChangeFeed = new EmployeeChangeFeed(properties, dispatcher);
+        MvcResult result = subscribe(employeeChangeFeed, get("/api/employees/changes"));
+
+        //when - action or behaviour that we are going to test
+        CountDownLatch slowClient = holdDispatcher();
+        for (int i = 0; i < 4; i++) {
+            employeeChangeFeed.onEmployeeChange(EmployeeChangeEvent.updated(employee));
+        }
+        slowClient.countDown();
+        awaitDispatch();
+
+        //then - verify the output
+        assertThat(employeeChangeFeed.subscriberCount()).isEqualTo(1);
+        assertThat(events(result)).containsExactly("3:updated", "4:updated");
+    }
+
+    @DisplayName("Junit test for delivering events to a healthy subscriber while another one is stuck writing")
+    @Test
+    public void givenSubscriberStuckOnWrite_whenEmployeeChanges_thenOtherSubscribersStillReceiveEvents() throws Exception {
+        //given - precondition or setup
+        EmployeeChangeFeed employeeChangeFeed = new EmployeeChangeFeed(properties);
+        CountDownLatch writeStarted = new CountDownLatch(1);
+        CountDownLatch socketDrained = new CountDownLatch(1);
+        try {
+            subscribe(employeeChangeFeed, get("/api/employees/changes"), blockingWrites(writeStarted, socketDrained));
+            MvcResult healthy = subscribe(employeeChangeFeed, get("/api/employees/changes"));
+
+            //when - action or behaviour that we are going to test
+            employeeChangeFeed.onEmployeeChange(EmployeeChangeEvent.created(employee));
+            assertThat(writeStarted.await(5, TimeUnit.SECONDS)).isTrue();
+            employeeChangeFeed.onEmployeeChange(EmployeeChangeEvent.updated(employee));
+
+            //then - verify the output
+            awaitEvents(healthy, 2);
+            assertThat(events(healthy)).containsExactly("1:created", "2:updated");
+            assertThat(socketDrained.getCount()).isEqualTo(1);
+        } finally {
+            socketDrained.countDown();
+            employeeChangeFeed.shutdown();
+        }
+    }
+
+    private MvcResult subscribe(EmployeeChangeFeed employeeChangeFeed, MockHttpServletRequestBuilder requestBuilder,
+                                Filter... filters) throws Exception {
+        MockMvc mockMvc = MockMvcBuilders.standaloneSetup(new EmployeeController(mock(EmployeeService.class), employeeChangeFeed))
+                .addFilters(filters)
+                .build();
+        return mockMvc.perform(requestBuilder.accept(MediaType.TEXT_EVENT_STREAM))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+    }
+
+    private CountDownLatch holdDispatcher() {
+        CountDownLatch latch = new CountDownLatch(1);
+        dispatcher.execute(() -> {
+            try {
+                latch.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        return latch;
+    }
+
+    //Plays a client whose socket buffer is full: the first write of the response blocks until the latch is released
+    private static Filter blockingWrites(CountDownLatch writeStarted, CountDownLatch socketDrained) {
+        return (request, response, chain) -> chain.doFilter(request, new HttpServletResponseWrapper((HttpServletResponse) response) {
+            @Override
+            public ServletOutputStream getOutputStream() throws IOException {
+                ServletOutputStream outputStream = super.getOutputStream();
+                return new ServletOutputStream() {
+                    @Override
+                    public void write(int b) throws IOException {
+                        awaitSocket();
+                        outputStream.write(b);
+                    }
+
+                    @Override
+                    public void write(byte[] b, int off, int len) throws IOException {
+                        awaitSocket();
+                        outputStream.write(b, off, len);
+                    }
+
+                    @Override
+                    public boolean isReady() {
+                        return false;
+                    }
+
+                    @Override
+                    public void setWriteListener(WriteListener writeListener) {
+                        outputStream.setWriteListener(writeListener);
+                    }
+
+                    private void awaitSocket() throws IOException {
+                        writeStarted.countDown();
+                        try {
+                            socketDrained.await();
+                        } catch (InterruptedException e) {
+                            Thread.currentThread().interrupt();
+                            throw new IOException(e);
+                        }
+                    }
+                };
+            }
+        });
+    }
+
+    private static void awaitEvents(MvcResult result, int count) throws Exception {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (events(result).size() < count && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+    }
+
+    //The dispatcher runs tasks in order, so once this one ran every drain scheduled before it is done
+    private void awaitDispatch() throws Exception {
+        dispatcher.submit(() -> { }).get(5, TimeUnit.SECONDS);
+    }
+
+    private static List<String> events(MvcResult result) throws Exception {
+        List<String> events = new ArrayList<>();
+        Matcher matcher = SSE_EVENT.matcher(result.getResponse().getContentAsString());
+        while (matcher.find()) {
+            events.add(matcher.group(1) + ":" + matcher.group(2));
+        }
+        return events;
+    }
+}
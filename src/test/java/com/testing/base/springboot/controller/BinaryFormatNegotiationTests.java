@@ -0,0 +1,120 @@
+package com.testing.base.springboot.controller;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.PropertyNamingStrategies;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.testing.base.springboot.changes.EmployeeChangeFeed;
+import com.testing.base.springboot.config.BinaryFormatConfig;
+import com.testing.base.springboot.model.Employee;
+import com.testing.base.springboot.service.EmployeeService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.BDDMockito.given;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+//The snake case naming strategy only reaches the binary converters through the Jackson2ObjectMapperBuilder,
+//so it shows that they use the mapper configured by spring.jackson.* and not a plain one
+@WebMvcTest(controllers = EmployeeController.class, properties = "spring.jackson.property-naming-strategy=SNAKE_CASE")
+@Import(BinaryFormatConfig.class)
+public class BinaryFormatNegotiationTests {
+    private static final MediaType CBOR = MediaType.parseMediaType("application/cbor");
+    private static final MediaType SMILE = MediaType.parseMediaType("application/x-jackson-smile");
+
+    @Autowired
+    private MockMvc mockMvc;
+    @MockBean
+    private EmployeeService employeeService;
+    @MockBean
+    private EmployeeChangeFeed employeeChangeFeed;
+    private Employee employee;
+
+    @BeforeEach
+    public void setup() {
+        employee = Employee.builder()
+                .id(1L)
+                .firstName("Spring")
+                .lastName("Boot")
+                .email("spring.boot@gmail.com")
+                .build();
+    }
+
+    @DisplayName("Junit test for getEmployeeById operation with Accept application/cbor")
+    @Test
+    public void givenCborAccepted_whenGetEmployeeById_thenReturnCborEmployee() throws Exception {
+        //given - precondition or setup
+        given(employeeService.getEmployeeById(employee.getId())).willReturn(Optional.of(employee));
+
+        //when - action or behaviour that we are going to test
+        MvcResult result = mockMvc.perform(get("/api/employees/{id}", employee.getId()).accept(CBOR))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(CBOR))
+                .andReturn();
+
+        //then - verify the output
+        JsonNode body = mapper(new CBORFactory()).readTree(result.getResponse().getContentAsByteArray());
+        assertThat(body.get("first_name").asText()).isEqualTo("Spring");
+        assertThat(body.get("email").asText()).isEqualTo("spring.boot@gmail.com");
+    }
+
+    @DisplayName("Junit test for getAllEmployees operation with Accept application/x-jackson-smile")
+    @Test
+    public void givenSmileAccepted_whenGetAllEmployees_thenReturnSmileList() throws Exception {
+        //given - precondition or setup
+        Employee otherEmployee = Employee.builder().id(2L).firstName("Apache").lastName("Maven").email("apache.maven@gmail.com").build();
+        given(employeeService.getAllEmployees()).willReturn(List.of(employee, otherEmployee));
+
+        //when - action or behaviour that we are going to test
+        MvcResult result = mockMvc.perform(get("/api/employees").accept(SMILE))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(SMILE))
+                .andReturn();
+
+        //then - verify the output
+        JsonNode body = mapper(new SmileFactory()).readTree(result.getResponse().getContentAsByteArray());
+        assertThat(body.size()).isEqualTo(2);
+        assertThat(body.get(1).get("last_name").asText()).isEqualTo("Maven");
+    }
+
+    @DisplayName("Junit test for createEmployee operation with a CBOR request and a Smile response")
+    @Test
+    public void givenCborRequest_whenCreateEmployee_thenDecodeCborAndReturnSmile() throws Exception {
+        //given - precondition or setup
+        given(employeeService.saveEmployee(any(Employee.class))).willAnswer(invocation -> invocation.getArgument(0));
+        byte[] request = mapper(new CBORFactory()).writeValueAsBytes(employee);
+
+        //when - action or behaviour that we are going to test
+        MvcResult result = mockMvc.perform(post("/api/employees").contentType(CBOR).accept(SMILE).content(request))
+                .andExpect(status().isCreated())
+                .andExpect(content().contentType(SMILE))
+                .andReturn();
+
+        //then - verify the output
+        JsonNode body = mapper(new SmileFactory()).readTree(result.getResponse().getContentAsByteArray());
+        assertThat(body.get("first_name").asText()).isEqualTo("Spring");
+        assertThat(body.get("last_name").asText()).isEqualTo("Boot");
+    }
+
+    private static ObjectMapper mapper(JsonFactory factory) {
+        return new ObjectMapper(factory).setPropertyNamingStrategy(PropertyNamingStrategies.SNAKE_CASE);
+    }
+}
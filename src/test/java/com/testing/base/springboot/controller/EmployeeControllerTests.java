@@ -1,6 +1,8 @@
 package com.testing.base.springboot.controller;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.testing.base.springboot.changes.EmployeeChangeFeed;
+import com.testing.base.springboot.exception.EmployeeServiceException;
 import com.testing.base.springboot.model.Employee;
 import com.testing.base.springboot.service.EmployeeService;
 import static org.hamcrest.CoreMatchers.is;
@@ -27,6 +29,7 @@ import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.
 import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
+import java.util.OptionalLong;
 import java.util.UUID;
 
 @WebMvcTest
@@ -35,6 +38,8 @@ public class EmployeeControllerTests {
     private MockMvc mockMvc;
     @MockBean
     private EmployeeService employeeService; //Since EmployeeController requires EmployeeService to be invoked as a constructor, hence we had to inject it as @WebMvcTest doesn't create load any other beans(service/repository) other than the controller in the controller layer.
+    @MockBean
+    private EmployeeChangeFeed employeeChangeFeed;
     @Autowired
     private ObjectMapper objectMapper;
     private Employee employee;
@@ -73,6 +78,27 @@ public class EmployeeControllerTests {
                         is(employee.getEmail())));
     }
 
+    //Junit for createEmployee operation with a duplicate email
+    @DisplayName("Junit test for createEmployee operation with a duplicate email of EmployeeController")
+    @Test
+    public void givenExistingEmail_whenCreateEmployee_thenReturnConflictProblem() throws Exception {
+        //given - precondition or setup
+        given(employeeService.saveEmployee(any(Employee.class)))
+                .willThrow(EmployeeServiceException.stackless("Employee already exists with email :- " + employee.getEmail()));
+
+        //when - action or behaviour that we are going to test
+        ResultActions response = mockMvc.perform(post("/api/employees")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(employee)));
+
+        //then - verify the output
+        response.andDo(print())
+                .andExpect(status().isConflict())
+                .andExpect(MockMvcResultMatchers.content().contentType(MediaType.APPLICATION_PROBLEM_JSON))
+                .andExpect(jsonPath("$.status", is(409)))
+                .andExpect(jsonPath("$.detail", is("Employee already exists with email :- " + employee.getEmail())));
+    }
+
     //Junit for getAllEmployees operation
     @DisplayName("Junit test for getAllEmployees operation")
     @Test
@@ -89,6 +115,23 @@ public class EmployeeControllerTests {
                 .andDo(print())
                 .andExpect(jsonPath("$.size()", is(employeeList.size())));
     }
+
+    //Junit for the X-Total-Count header of getAllEmployees operation
+    @DisplayName("Junit test for the total count header of getAllEmployees operation")
+    @Test
+    public void givenKnownEmployeeCount_whenGetAllEmployees_thenReturnTotalCountHeader() throws Exception {
+        //given - precondition or setup
+        given(employeeService.getAllEmployees()).willReturn(List.of(employee));
+        given(employeeService.getEmployeeCount()).willReturn(OptionalLong.of(42));
+
+        //when - action or behaviour that we are going to test
+        ResultActions response = mockMvc.perform(get("/api/employees"));
+
+        //then - verify the output
+        response.andExpect(status().isOk())
+                .andDo(print())
+                .andExpect(MockMvcResultMatchers.header().string("X-Total-Count", "42"));
+    }
     /*
     Differences:
             Specificity:
@@ -118,6 +161,27 @@ public class EmployeeControllerTests {
                         is(employee.getEmail())));
     }
 
+    @DisplayName("Junit test for getEmployeesByIds multi-get operation")
+    @Test
+    public void givenEmployeeIds_whenGetEmployeesByIds_thenReturnEmployeesInRequestOrderAndMissingIds() throws Exception {
+        //given - precondition or setup
+        Employee employee2 = Employee.builder().id(2L).firstName("Apache").lastName("Maven").email("apache.maven@gmail.com").build();
+        given(employeeService.getEmployeesByIds(any()))
+                .willReturn(List.of(employee2, employee));
+
+        //when - action or behaviour that we are going to test
+        ResultActions response = mockMvc.perform(get("/api/employees").param("ids", "2,1,3"));
+
+        //then - verify the output
+        response.andExpect(status().isOk())
+                .andDo(print())
+                .andExpect(jsonPath("$.employees.size()", is(2)))
+                .andExpect(jsonPath("$.employees[0].email", is(employee2.getEmail())))
+                .andExpect(jsonPath("$.employees[1].email", is(employee.getEmail())))
+                .andExpect(jsonPath("$.missingIds.size()", is(1)))
+                .andExpect(jsonPath("$.missingIds[0]", is(3)));
+    }
+
     @DisplayName("Junit test for getEmployeeById operation negative scenario")
     @Test
     public void givenInvalidEmployeeId_whenGetEmployeeById_thenReturnNothing() throws Exception {
@@ -192,6 +256,21 @@ public class EmployeeControllerTests {
         response.andExpect(status().isOk())
                 .andDo(print());
     }
+
+    @DisplayName("Junit test for deleteEmployeesByIds operation")
+    @Test
+    public void givenEmployeeIds_whenDeleteEmployees_thenReturnDeletedCount() throws Exception {
+        //given - precondition or setup
+        given(employeeService.deleteEmployeesByIds(any())).willReturn(2);
+
+        //when - action or behaviour that we are going to test
+        ResultActions response = mockMvc.perform(delete("/api/employees").param("ids", "1,2,3"));
+
+        //then - verify the output
+        response.andExpect(status().isOk())
+                .andExpect(MockMvcResultMatchers.content().string("2 employees deleted successfully"))
+                .andDo(print());
+    }
 }
 
 
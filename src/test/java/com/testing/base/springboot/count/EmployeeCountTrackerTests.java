@@ -0,0 +1,106 @@
+package com.testing.base.springboot.count;
+
+import com.testing.base.springboot.event.EmployeeChangeEvent;
+import com.testing.base.springboot.model.Employee;
+import com.testing.base.springboot.repository.EmployeeRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+@ExtendWith(MockitoExtension.class)
+public class EmployeeCountTrackerTests {
+    @Mock
+    private EmployeeRepository employeeRepository;
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+    private EmployeeCountTracker employeeCountTracker;
+    private Employee employee;
+
+    @BeforeEach
+    public void setup() {
+        EmployeeCountProperties properties = new EmployeeCountProperties();
+        properties.setMode(EmployeeCountProperties.Mode.EXACT);
+        employeeCountTracker = new EmployeeCountTracker(employeeRepository, jdbcTemplate, properties);
+        employee = Employee.builder()
+                .id(1L)
+                .firstName("Spring")
+                .lastName("Boot")
+                .email("spring.boot@gmail.com")
+                .build();
+    }
+
+    //Junit for currentCount operation before the first reconciliation
+    @DisplayName("Junit test for currentCount operation before the first reconciliation")
+    @Test
+    public void givenNoReconciliation_whenCurrentCount_thenReturnEmpty() {
+        //when - action or behaviour that we are going to test
+        employeeCountTracker.onEmployeeChange(EmployeeChangeEvent.created(employee));
+
+        //then - verify the output
+        assertThat(employeeCountTracker.currentCount()).isEmpty();
+    }
+
+    @DisplayName("Junit test for currentCount operation after reconciliation and writes")
+    @Test
+    public void givenReconciledCount_whenEmployeesCreatedAndDeleted_thenCountFollowsWrites() {
+        //given - precondition or setup
+        given(employeeRepository.count()).willReturn(10L);
+        employeeCountTracker.reconcile();
+
+        //when - action or behaviour that we are going to test
+        employeeCountTracker.onEmployeeChange(EmployeeChangeEvent.created(employee));
+        employeeCountTracker.onEmployeeChange(EmployeeChangeEvent.created(employee));
+        employeeCountTracker.onEmployeeChange(EmployeeChangeEvent.updated(employee));
+        employeeCountTracker.onEmployeeChange(EmployeeChangeEvent.deleted(employee.getId()));
+
+        //then - verify the output
+        assertThat(employeeCountTracker.currentCount()).hasValue(11L);
+    }
+
+    //Junit for reconcile operation in APPROXIMATE mode, table statistics only seed the counter
+    @DisplayName("Junit test for reconcile operation in APPROXIMATE mode")
+    @Test
+    public void givenApproximateMode_whenReconciledAgain_thenWritesAreKept() {
+        //given - precondition or setup
+        EmployeeCountProperties properties = new EmployeeCountProperties();
+        properties.setMode(EmployeeCountProperties.Mode.APPROXIMATE);
+        EmployeeCountTracker approximateTracker = new EmployeeCountTracker(employeeRepository, jdbcTemplate, properties);
+        given(jdbcTemplate.queryForObject(anyString(), eq(Long.class))).willReturn(10L);
+        approximateTracker.reconcile();
+
+        //when - action or behaviour that we are going to test
+        approximateTracker.onEmployeeChange(EmployeeChangeEvent.created(employee));
+        approximateTracker.reconcile();
+
+        //then - verify the output
+        assertThat(approximateTracker.currentCount()).hasValue(11L);
+        verify(jdbcTemplate, times(1)).queryForObject(anyString(), eq(Long.class));
+    }
+
+    //Junit for reconcile operation in EXACT mode, COUNT(*) corrects the counter on every run
+    @DisplayName("Junit test for reconcile operation in EXACT mode")
+    @Test
+    public void givenExactMode_whenReconciledAgain_thenCountResetFromDatabase() {
+        //given - precondition or setup
+        given(employeeRepository.count()).willReturn(10L, 12L);
+        employeeCountTracker.reconcile();
+        employeeCountTracker.onEmployeeChange(EmployeeChangeEvent.created(employee));
+
+        //when - action or behaviour that we are going to test
+        employeeCountTracker.reconcile();
+
+        //then - verify the output
+        assertThat(employeeCountTracker.currentCount()).hasValue(12L);
+    }
+}
@@ -0,0 +1,151 @@
+package com.testing.base.springboot.offheap;
+
+import com.testing.base.springboot.model.Employee;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class OffHeapEmployeeStoreTests {
+    private OffHeapEmployeeStore offHeapEmployeeStore;
+    private Employee employee;
+
+    @BeforeEach
+    public void setup() {
+        offHeapEmployeeStore = new OffHeapEmployeeStore(64 * 1024, 16, 0.5);
+        employee = Employee.builder()
+                .id(1L)
+                .firstName("Spring")
+                .lastName("Boot")
+                .email("spring.boot@gmail.com")
+                .build();
+    }
+
+    //Junit for put and get operation
+    @DisplayName("Junit test for put and get operation of OffHeapEmployeeStore")
+    @Test
+    public void givenEmployeeObject_whenPutAndGet_thenReturnEqualEmployee() {
+        //given - precondition or setup
+        offHeapEmployeeStore.put(employee);
+
+        //when - action or behaviour that we are going to test
+        Employee storedEmployee = offHeapEmployeeStore.get(employee.getId());
+
+        //then - verify the output
+        assertThat(storedEmployee).isNotNull();
+        assertThat(storedEmployee.getId()).isEqualTo(1L);
+        assertThat(storedEmployee.getFirstName()).isEqualTo("Spring");
+        assertThat(storedEmployee.getLastName()).isEqualTo("Boot");
+        assertThat(storedEmployee.getEmail()).isEqualTo("spring.boot@gmail.com");
+        assertThat(offHeapEmployeeStore.get(2L)).isNull();
+    }
+
+    @DisplayName("Junit test for put operation replacing an existing employee of OffHeapEmployeeStore")
+    @Test
+    public void givenStoredEmployee_whenPutUpdatedEmployee_thenReturnUpdatedEmployee() {
+        //given - precondition or setup
+        offHeapEmployeeStore.put(employee);
+        employee.setFirstName("J\u00fcrgen");
+        employee.setEmail("juergen.boot@gmail.com");
+
+        //when - action or behaviour that we are going to test
+        offHeapEmployeeStore.put(employee);
+
+        //then - verify the output
+        assertThat(offHeapEmployeeStore.get(1L).getFirstName()).isEqualTo("J\u00fcrgen");
+        assertThat(offHeapEmployeeStore.get(1L).getEmail()).isEqualTo("juergen.boot@gmail.com");
+        assertThat(offHeapEmployeeStore.stats().records()).isEqualTo(1);
+    }
+
+    @DisplayName("Junit test for fill operation of OffHeapEmployeeStore")
+    @Test
+    public void givenStoredEmployee_whenFill_thenKeepExistingEmployee() {
+        //given - precondition or setup
+        offHeapEmployeeStore.put(employee);
+        long writeCount = offHeapEmployeeStore.writeCount();
+
+        //when - action or behaviour that we are going to test
+        boolean stored = offHeapEmployeeStore.fill(Employee.builder().id(1L).firstName("Apache").lastName("Maven").email("apache.maven@gmail.com").build(), writeCount);
+
+        //then - verify the output
+        assertThat(stored).isFalse();
+        assertThat(offHeapEmployeeStore.get(1L).getFirstName()).isEqualTo("Spring");
+    }
+
+    @DisplayName("Junit test for fill operation racing a remove of OffHeapEmployeeStore")
+    @Test
+    public void givenRemoveAfterRead_whenFill_thenDeletedEmployeeNotStored() {
+        //given - precondition or setup
+        long writeCount = offHeapEmployeeStore.writeCount(); //read before the database read of employee
+        offHeapEmployeeStore.remove(employee.getId()); //a delete committed meanwhile
+
+        //when - action or behaviour that we are going to test
+        boolean stored = offHeapEmployeeStore.fill(employee, writeCount);
+
+        //then - verify the output
+        assertThat(stored).isFalse();
+        assertThat(offHeapEmployeeStore.get(employee.getId())).isNull();
+    }
+
+    @DisplayName("Junit test for get and remove operations with id 0 of OffHeapEmployeeStore")
+    @Test
+    public void givenStoredEmployees_whenGetOrRemoveIdZero_thenNothingFound() {
+        //given - precondition or setup
+        offHeapEmployeeStore.put(employee);
+
+        //when - action or behaviour that we are going to test
+        Employee storedEmployee = offHeapEmployeeStore.get(0L);
+        boolean removed = offHeapEmployeeStore.remove(0L);
+
+        //then - verify the output
+        assertThat(storedEmployee).isNull();
+        assertThat(removed).isFalse();
+        assertThat(offHeapEmployeeStore.stats().records()).isEqualTo(1);
+        assertThat(offHeapEmployeeStore.stats().deadBytes()).isZero();
+        assertThat(offHeapEmployeeStore.get(1L).getFirstName()).isEqualTo("Spring");
+    }
+
+    @DisplayName("Junit test for remove operation of OffHeapEmployeeStore")
+    @Test
+    public void givenManyEmployees_whenRemoveHalf_thenOthersStillFound() {
+        //given - precondition or setup
+        for (long id = 1; id <= 1_000; id++) {
+            offHeapEmployeeStore.put(Employee.builder().id(id).firstName("First" + id).lastName("Last" + id).email(id + "@gmail.com").build());
+        }
+
+        //when - action or behaviour that we are going to test
+        for (long id = 1; id <= 1_000; id += 2) {
+            offHeapEmployeeStore.remove(id);
+        }
+
+        //then - verify the output
+        for (long id = 1; id <= 1_000; id++) {
+            if (id % 2 == 0) {
+                assertThat(offHeapEmployeeStore.get(id).getEmail()).isEqualTo(id + "@gmail.com");
+            } else {
+                assertThat(offHeapEmployeeStore.get(id)).isNull();
+            }
+        }
+        assertThat(offHeapEmployeeStore.stats().records()).isEqualTo(500);
+    }
+
+    @DisplayName("Junit test for compaction of the OffHeapEmployeeStore arena")
+    @Test
+    public void givenRepeatedUpdates_whenArenaFills_thenCompactionReclaimsDeadRecords() {
+        //given - precondition or setup
+        OffHeapEmployeeStore smallStore = new OffHeapEmployeeStore(1024, 16, 0.9);
+
+        //when - action or behaviour that we are going to test
+        for (int i = 0; i < 1_000; i++) {
+            employee.setFirstName("Spring" + i);
+            assertThat(smallStore.put(employee)).isTrue();
+        }
+        smallStore.compact();
+
+        //then - verify the output
+        assertThat(smallStore.get(1L).getFirstName()).isEqualTo("Spring999");
+        assertThat(smallStore.stats().deadBytes()).isZero();
+        assertThat(smallStore.stats().arenaBytesUsed()).isLessThan(64); //only the latest record is left
+    }
+}
@@ -0,0 +1,181 @@
+package com.testing.base.springboot.ratelimit;
+
+import com.testing.base.springboot.changes.EmployeeChangeFeed;
+import com.testing.base.springboot.controller.EmployeeController;
+import com.testing.base.springboot.model.Employee;
+import com.testing.base.springboot.service.EmployeeService;
+import io.micrometer.core.instrument.Meter;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.mock;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+public class RateLimitingFilterTests {
+    private RateLimitProperties properties;
+    private SimpleMeterRegistry meterRegistry;
+    private EmployeeService employeeService;
+    private EmployeeChangeFeed employeeChangeFeed;
+
+    @BeforeEach
+    public void setup() {
+        properties = new RateLimitProperties();
+        properties.setRead(new RateLimitProperties.Budget(1, 1));
+        properties.setWrite(new RateLimitProperties.Budget(1, 1));
+        properties.setApiKeys(Map.of("client-a", "known-key"));
+        meterRegistry = new SimpleMeterRegistry();
+        employeeService = mock(EmployeeService.class);
+        employeeChangeFeed = mock(EmployeeChangeFeed.class);
+        given(employeeService.getEmployeeById(any(Long.class))).willReturn(Optional.of(Employee.builder().id(1L).build()));
+        given(employeeService.getEmployeesByIds(any())).willReturn(List.of());
+        given(employeeService.saveEmployee(any(Employee.class))).willAnswer(invocation -> invocation.getArgument(0));
+    }
+
+    //Junit for the 429 answer once a client's read budget is spent
+    @DisplayName("Junit test for the 429 answer of RateLimitingFilter once the read budget is spent")
+    @Test
+    public void givenReadBudgetSpent_whenGetEmployee_thenReturnTooManyRequests() throws Exception {
+        //given - precondition or setup
+        MockMvc mockMvc = mockMvc();
+        mockMvc.perform(get("/api/employees/1")).andExpect(status().isOk());
+
+        //when - action or behaviour that we are going to test
+        //then - verify the output
+        mockMvc.perform(get("/api/employees/1"))
+                .andExpect(status().isTooManyRequests())
+                .andExpect(header().string(HttpHeaders.RETRY_AFTER, "1"));
+        assertThat(meterRegistry.get("employees.ratelimit.rejected").tag("reason", "read").counter().count()).isEqualTo(1);
+    }
+
+    @DisplayName("Junit test for the separate read and write budgets of RateLimitingFilter")
+    @Test
+    public void givenReadBudgetSpent_whenCreateEmployee_thenWriteBudgetStillAvailable() throws Exception {
+        //given - precondition or setup
+        MockMvc mockMvc = mockMvc();
+        mockMvc.perform(get("/api/employees/1")).andExpect(status().isOk());
+
+        //when - action or behaviour that we are going to test
+        //then - verify the output
+        mockMvc.perform(post("/api/employees").contentType(MediaType.APPLICATION_JSON).content("{\"firstName\":\"Spring\"}"))
+                .andExpect(status().isCreated());
+        mockMvc.perform(post("/api/employees").contentType(MediaType.APPLICATION_JSON).content("{\"firstName\":\"Spring\"}"))
+                .andExpect(status().isTooManyRequests());
+    }
+
+    @DisplayName("Junit test for the POST lookup of RateLimitingFilter spending the read budget")
+    @Test
+    public void givenLookupByPost_whenReadBudgetSpent_thenOnlyReadsAreLimited() throws Exception {
+        //given - precondition or setup
+        MockMvc mockMvc = mockMvc();
+        mockMvc.perform(post("/api/employees/lookup").contentType(MediaType.APPLICATION_JSON).content("[1,2]"))
+                .andExpect(status().isOk());
+
+        //when - action or behaviour that we are going to test
+        //then - verify the output
+        mockMvc.perform(get("/api/employees/1"))
+                .andExpect(status().isTooManyRequests());
+        mockMvc.perform(post("/api/employees").contentType(MediaType.APPLICATION_JSON).content("{\"firstName\":\"Spring\"}"))
+                .andExpect(status().isCreated());
+        assertThat(meterRegistry.get("employees.ratelimit.rejected").tag("reason", "read").counter().count()).isEqualTo(1);
+    }
+
+    @DisplayName("Junit test for the async dispatch of the change feed not being charged again by RateLimitingFilter")
+    @Test
+    public void givenChangeFeedSubscription_whenAsyncDispatch_thenNotLimitedAgain() throws Exception {
+        //given - precondition or setup
+        SseEmitter emitter = new SseEmitter();
+        given(employeeChangeFeed.subscribe(null)).willReturn(emitter);
+        MockMvc mockMvc = mockMvc();
+        MvcResult result = mockMvc.perform(get("/api/employees/changes").accept(MediaType.TEXT_EVENT_STREAM))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        //when - action or behaviour that we are going to test
+        emitter.complete();
+
+        //then - verify the output
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk());
+        assertThat(meterRegistry.find("employees.ratelimit.rejected").counter()).isNull();
+    }
+
+    @DisplayName("Junit test for unknown api keys of RateLimitingFilter")
+    @Test
+    public void givenUnknownApiKeys_whenGetEmployee_thenLimitedByRemoteAddress() throws Exception {
+        //given - precondition or setup
+        MockMvc mockMvc = mockMvc();
+        mockMvc.perform(get("/api/employees/1").header("X-API-Key", "made-up-1")).andExpect(status().isOk());
+
+        //when - action or behaviour that we are going to test
+        //then - verify the output
+        mockMvc.perform(get("/api/employees/1").header("X-API-Key", "made-up-2"))
+                .andExpect(status().isTooManyRequests());
+        mockMvc.perform(get("/api/employees/1").header("X-API-Key", "known-key"))
+                .andExpect(status().isOk());
+    }
+
+    @DisplayName("Junit test for the per-client rejection counters of RateLimitingFilter")
+    @Test
+    public void givenKnownAndUnknownClients_whenRejected_thenCountedPerClientName() throws Exception {
+        //given - precondition or setup
+        MockMvc mockMvc = mockMvc();
+        mockMvc.perform(get("/api/employees/1").header("X-API-Key", "known-key")).andExpect(status().isOk());
+        mockMvc.perform(get("/api/employees/1").header("X-API-Key", "made-up")).andExpect(status().isOk());
+
+        //when - action or behaviour that we are going to test
+        mockMvc.perform(get("/api/employees/1").header("X-API-Key", "known-key")).andExpect(status().isTooManyRequests());
+        mockMvc.perform(get("/api/employees/1").header("X-API-Key", "known-key")).andExpect(status().isTooManyRequests());
+        mockMvc.perform(get("/api/employees/1").header("X-API-Key", "made-up")).andExpect(status().isTooManyRequests());
+
+        //then - verify the output
+        assertThat(meterRegistry.get("employees.ratelimit.rejected").tag("client", "client-a").counter().count()).isEqualTo(2);
+        assertThat(meterRegistry.get("employees.ratelimit.rejected").tag("client", "anonymous").counter().count()).isEqualTo(1);
+        assertThat(meterRegistry.getMeters()).flatExtracting(meter -> meter.getId().getTags())
+                .extracting(tag -> tag.getValue())
+                .doesNotContain("known-key", "made-up", "127.0.0.1");
+    }
+
+    @DisplayName("Junit test for the 503 answer of RateLimitingFilter when too many requests are in flight")
+    @Test
+    public void givenNoRequestsAllowedInFlight_whenGetEmployee_thenReturnServiceUnavailable() throws Exception {
+        //given - precondition or setup
+        properties.setMaxInFlight(0);
+        MockMvc mockMvc = mockMvc();
+
+        //when - action or behaviour that we are going to test
+        //then - verify the output
+        mockMvc.perform(get("/api/employees/1"))
+                .andExpect(status().isServiceUnavailable())
+                .andExpect(header().string(HttpHeaders.RETRY_AFTER, "1"));
+        assertThat(meterRegistry.get("employees.ratelimit.rejected").tag("reason", "shed").tag("client", "anonymous").counter().count())
+                .isEqualTo(1);
+        assertThat(meterRegistry.getMeters()).extracting(Meter::getId).hasSize(1);
+    }
+
+    private MockMvc mockMvc() {
+        return MockMvcBuilders.standaloneSetup(new EmployeeController(employeeService, employeeChangeFeed))
+                .addFilters(new RateLimitingFilter(properties, meterRegistry))
+                .addMappedInterceptors(new String[]{"/api/employees", "/api/employees/**"}, new RateLimitingInterceptor(properties, meterRegistry))
+                .build();
+    }
+}
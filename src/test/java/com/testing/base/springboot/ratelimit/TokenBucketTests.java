@@ -0,0 +1,68 @@
+package com.testing.base.springboot.ratelimit;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class TokenBucketTests {
+    private static final long START = TimeUnit.SECONDS.toNanos(100);
+
+    //Junit for tryAcquire operation within the burst capacity
+    @DisplayName("Junit test for tryAcquire operation within the burst capacity")
+    @Test
+    public void givenFullBucket_whenAcquireUpToCapacity_thenAllTokensGranted() {
+        //given - precondition or setup
+        TokenBucket tokenBucket = new TokenBucket(5, 1, START);
+
+        //when - action or behaviour that we are going to test
+        long granted = 0;
+        for (int i = 0; i < 5; i++) {
+            if (tokenBucket.tryAcquire(START) == 0) {
+                granted++;
+            }
+        }
+
+        //then - verify the output
+        assertThat(granted).isEqualTo(5);
+    }
+
+    @DisplayName("Junit test for tryAcquire operation once the bucket is empty")
+    @Test
+    public void givenEmptyBucket_whenTryAcquire_thenReturnWaitUntilNextToken() {
+        //given - precondition or setup
+        TokenBucket tokenBucket = new TokenBucket(2, 4, START);
+        tokenBucket.tryAcquire(START);
+        tokenBucket.tryAcquire(START);
+
+        //when - action or behaviour that we are going to test
+        long waitNanos = tokenBucket.tryAcquire(START);
+
+        //then - verify the output
+        assertThat(waitNanos).isEqualTo(TimeUnit.MILLISECONDS.toNanos(250));
+    }
+
+    @DisplayName("Junit test for tryAcquire operation after the bucket refilled")
+    @Test
+    public void givenDrainedBucket_whenRefillIntervalElapsed_thenTokenGrantedAgain() {
+        //given - precondition or setup
+        TokenBucket tokenBucket = new TokenBucket(1, 10, START);
+        tokenBucket.tryAcquire(START);
+
+        //when - action or behaviour that we are going to test
+        long later = START + TimeUnit.MILLISECONDS.toNanos(100);
+        long waitNanos = tokenBucket.tryAcquire(later);
+
+        //then - verify the output
+        assertThat(waitNanos).isZero();
+    }
+
+    @DisplayName("Junit test for TokenBucket creation with an invalid budget")
+    @Test
+    public void givenZeroCapacity_whenCreateBucket_thenThrowsException() {
+        assertThrows(IllegalArgumentException.class, () -> new TokenBucket(0, 1, START));
+    }
+}
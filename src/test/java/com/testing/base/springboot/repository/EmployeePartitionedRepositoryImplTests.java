@@ -0,0 +1,97 @@
+package com.testing.base.springboot.repository;
+
+import com.testing.base.springboot.model.Employee;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.Query;
+import jakarta.persistence.TypedQuery;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+
+@ExtendWith(MockitoExtension.class)
+public class EmployeePartitionedRepositoryImplTests {
+    @Mock
+    private EntityManager entityManager;
+    private EmployeePartitionedRepositoryImpl employeePartitionedRepository;
+
+    @BeforeEach
+    public void setup() {
+        employeePartitionedRepository = new EmployeePartitionedRepositoryImpl();
+        ReflectionTestUtils.setField(employeePartitionedRepository, "entityManager", entityManager);
+    }
+
+    //Junit for findAllByIdWithinPartitions operation, ids of many partitions still go out as one statement
+    @DisplayName("Junit test for findAllByIdWithinPartitions operation")
+    @Test
+    @SuppressWarnings("unchecked")
+    public void givenIdsOfManyPartitions_whenFindAllByIdWithinPartitions_thenOneInQuery() {
+        //given - precondition or setup
+        TypedQuery<Employee> inQuery = mock(TypedQuery.class);
+        given(entityManager.createQuery("select e from Employee e where e.id in :ids", Employee.class)).willReturn(inQuery);
+        given(inQuery.setParameter("ids", List.of(1L, 2L, 3L, 17L))).willReturn(inQuery);
+        given(inQuery.getResultList()).willReturn(List.of(employee(1L), employee(17L)));
+
+        //when - action or behaviour that we are going to test
+        List<Employee> employees = employeePartitionedRepository.findAllByIdWithinPartitions(List.of(1L, 2L, 3L, 17L));
+
+        //then - verify the output
+        assertThat(employees).extracting(Employee::getId).containsExactly(1L, 17L);
+        verify(entityManager, times(1)).createQuery(anyString(), eq(Employee.class));
+    }
+
+    //Junit for deleteAllByIdWithinPartitions operation
+    @DisplayName("Junit test for deleteAllByIdWithinPartitions operation")
+    @Test
+    public void givenIdsOfManyPartitions_whenDeleteAllByIdWithinPartitions_thenOneDeleteStatement() {
+        //given - precondition or setup
+        Query deleteQuery = mock(Query.class);
+        given(entityManager.createQuery("delete from Employee e where e.id in :ids")).willReturn(deleteQuery);
+        given(deleteQuery.setParameter("ids", List.of(1L, 2L, 17L))).willReturn(deleteQuery);
+        given(deleteQuery.executeUpdate()).willReturn(2);
+
+        //when - action or behaviour that we are going to test
+        int deleted = employeePartitionedRepository.deleteAllByIdWithinPartitions(List.of(1L, 2L, 17L));
+
+        //then - verify the output
+        assertThat(deleted).isEqualTo(2);
+        verify(deleteQuery, times(1)).executeUpdate();
+    }
+
+    //Junit for the bulk operations without ids, no statement is sent
+    @DisplayName("Junit test for the bulk operations with no ids")
+    @Test
+    public void givenNoIds_whenBulkOperations_thenNoStatement() {
+        //when - action or behaviour that we are going to test
+        List<Employee> employees = employeePartitionedRepository.findAllByIdWithinPartitions(List.of());
+        int deleted = employeePartitionedRepository.deleteAllByIdWithinPartitions(List.of());
+
+        //then - verify the output
+        assertThat(employees).isEmpty();
+        assertThat(deleted).isZero();
+        verifyNoInteractions(entityManager);
+    }
+
+    private static Employee employee(long id) {
+        return Employee.builder()
+                .id(id)
+                .firstName("Spring")
+                .lastName("Boot")
+                .email("employee" + id + "@gmail.com")
+                .build();
+    }
+}
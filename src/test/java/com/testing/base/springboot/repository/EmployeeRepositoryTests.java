@@ -176,6 +176,22 @@ public class EmployeeRepositoryTests {
         assertThat(employeeRepository.findById(employee.getId()).isEmpty()).isTrue();
     }
 
+    //Junit for deleteByIdReturningCount employee operation
+    @DisplayName("Junit test for deleteByIdReturningCount employee operation")
+    @Test
+    public void givenEmployee_whenDeleteByIdReturningCount_thenReportDeletedRows() {
+        //given - precondition or setup
+        employeeRepository.saveAndFlush(employee);
+
+        //when - action or behaviour that we are going to test
+        int deleted = employeeRepository.deleteByIdReturningCount(employee.getId());
+        int deletedAgain = employeeRepository.deleteByIdReturningCount(employee.getId());
+
+        //then - verify the output
+        assertThat(deleted).isEqualTo(1);
+        assertThat(deletedAgain).isZero();
+    }
+
     //Junit for update employee operation
         @DisplayName("Junit test for update employee")
         @Test
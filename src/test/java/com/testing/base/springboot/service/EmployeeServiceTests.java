@@ -1,7 +1,11 @@
 package com.testing.base.springboot.service;
 
+import com.testing.base.springboot.bloom.EmployeeEmailFilter;
+import com.testing.base.springboot.count.EmployeeCountTracker;
+import com.testing.base.springboot.event.EmployeeChangeEvent;
 import com.testing.base.springboot.exception.EmployeeServiceException;
 import com.testing.base.springboot.model.Employee;
+import com.testing.base.springboot.offheap.OffHeapEmployeeStore;
 import com.testing.base.springboot.repository.EmployeeRepository;
 import com.testing.base.springboot.service.impl.EmployeeServiceImpl;
 import org.junit.jupiter.api.Assertions;
@@ -15,13 +19,14 @@ import static org.mockito.BDDMockito.given;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
 
 import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 
 import static org.assertj.core.api.Assertions.assertThat;
-import static org.mockito.BDDMockito.willDoNothing;
 import static org.mockito.Mockito.*;
 
 //We need to tell Mockito that we are using Mockito annotations to mock the dependencies otherwise the tests will fail with NPE
@@ -31,6 +36,14 @@ import static org.mockito.Mockito.*;
 public class EmployeeServiceTests {
     @Mock
     private EmployeeRepository employeeRepository;
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+    @Mock
+    private EmployeeEmailFilter employeeEmailFilter;
+    @Mock
+    private OffHeapEmployeeStore offHeapEmployeeStore;
+    @Mock
+    private EmployeeCountTracker employeeCountTracker;
     //private EmployeeService employeeService; ->  this was used when we were using the setup method
     //But if we use the @InjectMocks annotation then, we have to provide the implementation class of it and not the interface
     @InjectMocks
@@ -58,6 +71,7 @@ public class EmployeeServiceTests {
     @Test
     public void givenEmployeeObject_whenSave_thenReturnSavedEmployee() {
         //given - precondition or setup
+        given(employeeEmailFilter.mightContain(employee.getEmail())).willReturn(true);
         given(employeeRepository.findByEmail(employee.getEmail())).willReturn(Optional.empty());
         given(employeeRepository.save(employee)).willReturn(employee);
 
@@ -74,14 +88,32 @@ public class EmployeeServiceTests {
     @Test
     public void givenExistingEmail_whenSaveEmployee_thenThrowsException() {
         //given - precondition or setup
+        given(employeeEmailFilter.mightContain(employee.getEmail())).willReturn(true);
         given(employeeRepository.findByEmail(employee.getEmail())).willReturn(Optional.of(employee));
         //given(employeeRepository.save(employee)).willReturn(employee);
 
         //when - action or behaviour that we are going to test
-        Assertions.assertThrows(EmployeeServiceException.class, () -> employeeService.saveEmployee(employee));
+        EmployeeServiceException exception = Assertions.assertThrows(EmployeeServiceException.class, () -> employeeService.saveEmployee(employee));
 
         //then - verify the output
         verify(employeeRepository, never()).save(any(Employee.class));
+        assertThat(exception.getStackTrace()).isEmpty(); //expected business failure, thrown without a stack trace
+    }
+
+    //Junit for saveEmployee method operation when the email filter rules out a duplicate
+    @DisplayName("Junit test for saveEmployee operation skipping the duplicate email query in EmployeeService")
+    @Test
+    public void givenUnknownEmail_whenSaveEmployee_thenSkipFindByEmail() {
+        //given - precondition or setup
+        given(employeeEmailFilter.mightContain(employee.getEmail())).willReturn(false);
+        given(employeeRepository.save(employee)).willReturn(employee);
+
+        //when - action or behaviour that we are going to test
+        Employee savedEmployee = employeeService.saveEmployee(employee);
+
+        //then - verify the output
+        assertThat(savedEmployee).isNotNull();
+        verify(employeeRepository, never()).findByEmail(any(String.class));
     }
 
     //Junit for saveEmployee method operation with exception being thrown from it
@@ -137,6 +169,77 @@ public class EmployeeServiceTests {
         //then - verify the output
         assertThat(retrievedEmployee).isNotNull();
         assertThat(retrievedEmployee.getId()).isEqualTo(1);
+        verify(offHeapEmployeeStore, times(1)).fill(employee, 0L);
+    }
+
+    //Junit for getEmployeeById method operation served from the off-heap store
+    @DisplayName("Junit test for getEmployeeById operation served from the off-heap store in EmployeeService")
+    @Test
+    public void givenStoredEmployee_whenGetEmployeeById_thenSkipRepository() {
+        //given - precondition or setup
+        given(offHeapEmployeeStore.get(employee.getId())).willReturn(employee);
+
+        //when - action or behaviour that we are going to test
+        Optional<Employee> optionalEmployee = employeeService.getEmployeeById(employee.getId());
+
+        //then - verify the output
+        assertThat(optionalEmployee).contains(employee);
+        verify(employeeRepository, never()).findById(any(Long.class));
+    }
+
+    //Junit for getEmployeeById racing a delete that reaches the off-heap store during the database read
+    @DisplayName("Junit test for getEmployeeById racing a delete in EmployeeService")
+    @Test
+    public void givenDeleteDuringRead_whenGetEmployeeById_thenDeletedEmployeeNotStored() {
+        //given - precondition or setup
+        OffHeapEmployeeStore store = new OffHeapEmployeeStore(64 * 1024, 16, 0.5);
+        EmployeeServiceImpl serviceWithStore = new EmployeeServiceImpl(employeeRepository, eventPublisher, employeeEmailFilter, store, employeeCountTracker);
+        given(employeeRepository.findById(employee.getId())).willAnswer(invocation -> {
+            store.remove(employee.getId()); //the delete commits after the row was read
+            return Optional.of(employee);
+        });
+
+        //when - action or behaviour that we are going to test
+        Optional<Employee> optionalEmployee = serviceWithStore.getEmployeeById(employee.getId());
+
+        //then - verify the output
+        assertThat(optionalEmployee).contains(employee);
+        assertThat(store.get(employee.getId())).isNull();
+    }
+
+    //Junit for getEmployeesByIds operation keeping the requested order
+    @DisplayName("Junit test for getEmployeesByIds operation in EmployeeService")
+    @Test
+    public void givenIdsInRequestOrder_whenGetEmployeesByIds_thenReturnEmployeesInThatOrder() {
+        //given - precondition or setup
+        Employee otherEmployee = Employee.builder().id(3L).firstName("Apache").lastName("Maven").email("apache.maven@gmail.com").build();
+        given(employeeRepository.findAllById(List.of(3L, 2L, 1L))).willReturn(List.of(employee, otherEmployee));
+
+        //when - action or behaviour that we are going to test
+        List<Employee> employees = employeeService.getEmployeesByIds(List.of(3L, 2L, 1L, 3L));
+
+        //then - verify the output
+        assertThat(employees).containsExactly(otherEmployee, employee);
+    }
+
+    //Junit for getEmployeesByIds operation merging the off-heap store with the database
+    @DisplayName("Junit test for getEmployeesByIds operation with the off-heap store in EmployeeService")
+    @Test
+    public void givenSomeEmployeesInOffHeapStore_whenGetEmployeesByIds_thenLoadOnlyTheOthersAndKeepOrder() {
+        //given - precondition or setup
+        OffHeapEmployeeStore store = new OffHeapEmployeeStore(64 * 1024, 16, 0.5);
+        EmployeeServiceImpl serviceWithStore = new EmployeeServiceImpl(employeeRepository, eventPublisher, employeeEmailFilter, store, employeeCountTracker);
+        Employee storedEmployee = Employee.builder().id(2L).firstName("Apache").lastName("Maven").email("apache.maven@gmail.com").build();
+        Employee otherEmployee = Employee.builder().id(3L).firstName("Gradle").lastName("Build").email("gradle.build@gmail.com").build();
+        store.put(storedEmployee);
+        given(employeeRepository.findAllById(List.of(3L, 1L))).willReturn(List.of(employee, otherEmployee));
+
+        //when - action or behaviour that we are going to test
+        List<Employee> employees = serviceWithStore.getEmployeesByIds(List.of(3L, 2L, 1L));
+
+        //then - verify the output
+        assertThat(employees).extracting(Employee::getId).containsExactly(3L, 2L, 1L);
+        assertThat(employees.get(1)).usingRecursiveComparison().isEqualTo(storedEmployee);
     }
 
     //Junit for update employee operation
@@ -163,13 +266,65 @@ public class EmployeeServiceTests {
     @Test
     public void givenEmployeeId_whenDeleteEmployee_thenReturnNothing() {
         //given - precondition or setup
-        willDoNothing().given(employeeRepository).deleteById(employee.getId()); //to return void -> willDoNothing belongs to BDDMockito class, doNothing() belongs to Mockito
+        given(employeeRepository.deleteByIdReturningCount(employee.getId())).willReturn(1);
+
+        //when - action or behaviour that we are going to test
+        employeeService.deleteEmployeeById(employee.getId());
+
+        //then - verify the output
+        verify(employeeRepository, times(1)).deleteByIdReturningCount(employee.getId());
+        verify(eventPublisher, times(1)).publishEvent(argThat((Object event) -> event instanceof EmployeeChangeEvent changeEvent
+                && changeEvent.getType() == EmployeeChangeEvent.Type.DELETED && changeEvent.getEmployeeId() == employee.getId()));
+    }
+
+    //Junit for delete employee operation with an id that doesn't exist
+    @DisplayName("Junit test for deleteEmployee operation with a missing id in EmployeeService")
+    @Test
+    public void givenMissingEmployeeId_whenDeleteEmployee_thenNoEventPublished() {
+        //given - precondition or setup
+        given(employeeRepository.deleteByIdReturningCount(employee.getId())).willReturn(0);
 
         //when - action or behaviour that we are going to test
         employeeService.deleteEmployeeById(employee.getId());
 
         //then - verify the output
-        verify(employeeRepository, times(1)).deleteById(employee.getId());
+        verify(eventPublisher, never()).publishEvent(any(Object.class));
+    }
+
+    //Junit for bulk delete employee operation, ids that don't exist are neither deleted nor announced
+    @DisplayName("Junit test for deleteEmployeesByIds operation in EmployeeService")
+    @Test
+    public void givenEmployeeIds_whenDeleteEmployees_thenPublishDeletedForExistingOnly() {
+        //given - precondition or setup
+        given(employeeRepository.findAllById(Set.of(1L, 2L))).willReturn(List.of(employee));
+        given(employeeRepository.deleteAllByIdWithinPartitions(List.of(1L))).willReturn(1);
+
+        //when - action or behaviour that we are going to test
+        int deleted = employeeService.deleteEmployeesByIds(List.of(1L, 2L, 1L));
+
+        //then - verify the output
+        assertThat(deleted).isEqualTo(1);
+        verify(eventPublisher, times(1)).publishEvent(any(Object.class));
+        verify(eventPublisher).publishEvent(argThat((Object event) -> event instanceof EmployeeChangeEvent changeEvent
+                && changeEvent.getType() == EmployeeChangeEvent.Type.DELETED && changeEvent.getEmployeeId() == 1L));
+    }
+
+    //Junit for the change event published by saveEmployee
+    @DisplayName("Junit test for the change event published by saveEmployee operation in EmployeeService")
+    @Test
+    public void givenEmployeeObject_whenSave_thenPublishCreatedEvent() {
+        //given - precondition or setup
+        given(employeeEmailFilter.mightContain(employee.getEmail())).willReturn(true);
+        given(employeeRepository.findByEmail(employee.getEmail())).willReturn(Optional.empty());
+        given(employeeRepository.save(employee)).willReturn(employee);
+
+        //when - action or behaviour that we are going to test
+        employeeService.saveEmployee(employee);
+
+        //then - verify the output
+        verify(eventPublisher, times(1)).publishEvent(argThat((Object event) -> event instanceof EmployeeChangeEvent changeEvent
+                && changeEvent.getType() == EmployeeChangeEvent.Type.CREATED
+                && changeEvent.getEmployeeId() == employee.getId()));
     }
 }
 